@@ -0,0 +1,59 @@
+package edu.eci.arsw.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Barrido completo de la línea base: FightBenchmark.ordered y tryLock con 1, 2, 4, ...
+ * hasta 2x núcleos hilos, FightBenchmark.naive con un hilo y
+ * SimulationBenchmark para todos sus parámetros. Cada corrida deja un JSON
+ * en el directorio indicado por {@code -Dbench.out} (por defecto
+ * {@code bench-results}).
+ */
+public final class BenchmarkSweep {
+
+    private BenchmarkSweep() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String outDir = System.getProperty("bench.out", "bench-results");
+        new java.io.File(outDir).mkdirs();
+
+        for (int t : threadCounts()) {
+            run(new OptionsBuilder()
+                    .include("FightBenchmark.(ordered|tryLock)")
+                    .threads(t)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(outDir + "/fight-t" + t + ".json")
+                    .build());
+        }
+        run(new OptionsBuilder()
+                .include("FightBenchmark.naive")
+                .resultFormat(ResultFormatType.JSON)
+                .result(outDir + "/fight-naive-t1.json")
+                .build());
+        run(new OptionsBuilder()
+                .include("SimulationBenchmark")
+                .resultFormat(ResultFormatType.JSON)
+                .result(outDir + "/simulation.json")
+                .build());
+    }
+
+    static List<Integer> threadCounts() {
+        int max = Integer.getInteger("bench.maxThreads", Runtime.getRuntime().availableProcessors() * 2);
+        List<Integer> counts = new ArrayList<>();
+        for (int t = 1; t <= max; t *= 2) {
+            counts.add(t);
+        }
+        return counts;
+    }
+
+    private static void run(Options options) throws Exception {
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,110 @@
+package edu.eci.arsw.immortals;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro-benchmark de una pelea aislada (ordered / naive / trylock) sobre una
+ * población de tamaño variable. En modo Throughput el resultado son peleas por
+ * segundo; en modo SampleTime JMH reporta percentiles (p99, p99.9) de latencia.
+ *
+ * El número de hilos se barre con {@code -t} o con {@link edu.eci.arsw.bench.BenchmarkSweep}.
+ * fightNaive solo se mide con un hilo: con dos o más se bloquea por diseño.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FightBenchmark {
+
+    // Salud enorme y daño par: nadie muere durante una iteración y el atacante sí gana vida.
+    static final int HEALTH = 1_000_000_000;
+    static final int DAMAGE = 2;
+    static final int PAIRS = 4096;
+    static final FightStrategy TRY_LOCK = new TryLockFightStrategy();
+
+    @State(Scope.Benchmark)
+    public static class Population {
+
+        @Param({"8", "64", "512", "5000"})
+        public int size;
+
+        List<Immortal> immortals;
+
+        // La población de un manager sin arrancar: las peleas comparten su contexto (marcador,
+        // estadísticas y arenas) igual que en la simulación real
+        @Setup(Level.Iteration)
+        public void setUp() {
+            immortals = new ImmortalManager(size, "ordered", HEALTH, DAMAGE).populationSnapshot();
+        }
+    }
+
+    /**
+     * Parejas (atacante, defensor) pre-generadas por hilo para no medir el RNG.
+     */
+    @State(Scope.Thread)
+    public static class Pairs {
+
+        Immortal[] attackers;
+        Immortal[] defenders;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(Population population) {
+            var rnd = new SplittableRandom(Thread.currentThread().threadId());
+            List<Immortal> pop = population.immortals;
+            attackers = new Immortal[PAIRS];
+            defenders = new Immortal[PAIRS];
+            for (int i = 0; i < PAIRS; i++) {
+                int a = rnd.nextInt(pop.size());
+                int d = rnd.nextInt(pop.size() - 1);
+                if (d >= a) {
+                    d++;
+                }
+                attackers[i] = pop.get(a);
+                defenders[i] = pop.get(d);
+            }
+        }
+
+        int nextIndex() {
+            int i = next;
+            next = (i + 1) & (PAIRS - 1);
+            return i;
+        }
+    }
+
+    @Benchmark
+    public void ordered(Pairs pairs) {
+        int i = pairs.nextIndex();
+        pairs.attackers[i].fightOrdered(pairs.defenders[i]);
+    }
+
+    @Benchmark
+    public void tryLock(Pairs pairs) throws InterruptedException {
+        int i = pairs.nextIndex();
+        TRY_LOCK.fight(pairs.attackers[i], pairs.defenders[i]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void naive(Pairs pairs) {
+        int i = pairs.nextIndex();
+        pairs.attackers[i].fightNaive(pairs.defenders[i]);
+    }
+}
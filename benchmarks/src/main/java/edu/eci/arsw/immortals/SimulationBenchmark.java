@@ -0,0 +1,89 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput de la simulación completa: un ImmortalManager corriendo con un
+ * hilo por inmortal (virtual o de plataforma). Cada operación observa una
+ * ventana de tiempo y suma las peleas registradas en el ScoreBoard; JMH
+ * reporta el contador auxiliar {@code fights} como peleas por segundo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class SimulationBenchmark {
+
+    static final int HEALTH = 1_000_000_000;
+    static final int DAMAGE = 2;
+    static final long WINDOW_MS = 10;
+
+    @State(Scope.Benchmark)
+    public static class Simulation {
+
+        @Param({"8", "64", "512", "5000"})
+        public int population;
+
+        @Param({"virtual", "platform"})
+        public String threads;
+
+        // Ritmo de las peleas (ver Pacer.of): sin pausa o con el sleep de siempre
+        @Param({"none", "sleep"})
+        public String pace;
+
+        ImmortalManager manager;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ThreadFactory factory = "platform".equals(threads)
+                    ? Thread.ofPlatform().daemon().factory()
+                    : Thread.ofVirtual().factory();
+            manager = new ImmortalManager(population, "ordered", HEALTH, DAMAGE);
+            manager.pace(Pacer.of(pace));
+            manager.start(factory);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            manager.stop();
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+
+        public long fights;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            fights = 0;
+        }
+    }
+
+    @Benchmark
+    public void simulate(Simulation sim, Counters counters) throws InterruptedException {
+        long before = sim.manager.scoreBoard().totalFights();
+        Thread.sleep(WINDOW_MS);
+        counters.fights += sim.manager.scoreBoard().totalFights() - before;
+    }
+}
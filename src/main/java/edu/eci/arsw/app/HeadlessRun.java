@@ -0,0 +1,244 @@
+package edu.eci.arsw.app;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import edu.eci.arsw.immortals.DetectingFightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.Pacer;
+import edu.eci.arsw.immortals.ScoreBoard;
+import edu.eci.arsw.immortals.Simulation;
+import edu.eci.arsw.metrics.FlightEvents;
+import edu.eci.arsw.metrics.LatencyHistogram;
+import jdk.jfr.Recording;
+
+/**
+ * Corrida sin UI para servidores de build: arranca una simulación, la deja
+ * calentar, mide durante {@code duration} tomando una muestra de vivos y
+ * peleas cada {@code sampleEvery} y una pausa cada {@code pauseEvery} (para
+ * medir el time-to-safepoint), y al final escribe un reporte JSON o CSV.
+ */
+public final class HeadlessRun {
+
+    /**
+     * Parámetros de la corrida; {@link #fromSystemProperties()} los lee de
+     * -Dcount, -Dhealth, -Ddamage, -Dfight, -Dengine, -Dduration, -Dwarmup,
+     * -Dseed, -DsampleEvery, -DpauseEvery, -Dreport (duraciones en ms),
+     * -Dpace (ver {@link Pacer#of(String)}; null deja el ritmo por defecto
+     * del motor), -Darenas y -DcrossArena (probabilidad de desafiar a otra
+     * arena).
+     */
+    public record Options(String engine, int count, int health, int damage, String fight,
+            Duration duration, Duration warmup, long seed, Duration sampleEvery, Duration pauseEvery,
+            Path report, String pace, int arenas, double crossArenaRate) {
+
+        public Options(String engine, int count, int health, int damage, String fight,
+                Duration duration, Duration warmup, long seed, Duration sampleEvery, Duration pauseEvery,
+                Path report) {
+            this(engine, count, health, damage, fight, duration, warmup, seed, sampleEvery, pauseEvery, report, null,
+                    1, 0);
+        }
+
+        public static Options fromSystemProperties() {
+            String report = System.getProperty("report");
+            return new Options(
+                    System.getProperty("engine", "objects"),
+                    Integer.getInteger("count", 100),
+                    Integer.getInteger("health", 100),
+                    Integer.getInteger("damage", 10),
+                    System.getProperty("fight", "ordered"),
+                    Duration.ofMillis(Long.getLong("duration", 10_000)),
+                    Duration.ofMillis(Long.getLong("warmup", 2_000)),
+                    Long.getLong("seed", 42),
+                    Duration.ofMillis(Long.getLong("sampleEvery", 250)),
+                    Duration.ofMillis(Long.getLong("pauseEvery", 1_000)),
+                    report == null || report.isBlank() ? null : Path.of(report),
+                    System.getProperty("pace"),
+                    Integer.getInteger("arenas", 1),
+                    Double.parseDouble(System.getProperty("crossArena", "0.05")));
+        }
+    }
+
+    /** Una muestra de la curva: milisegundos desde el fin del warmup. */
+    public record Sample(long millis, int alive, long fights, long totalHealth) {
+    }
+
+    public record Report(Options options, long fights, double fightsPerSecond, List<Sample> curve,
+            long pauses, long pauseP50Nanos, long pauseP99Nanos, long pauseMaxNanos,
+            long lockWaitP99Nanos, long fightP99Nanos,
+            long finalTotalHealth, int finalAlive, long totalKills, long initialTotalHealth, long deadlocks) {
+    }
+
+    private HeadlessRun() {
+    }
+
+    public static Report run(Options o) throws InterruptedException {
+        try (Simulation sim = Simulation.of(o.engine(), o.count(), o.fight(), o.health(), o.damage(), o.seed(),
+                o.arenas(), o.crossArenaRate())) {
+            ScoreBoard score = sim.scoreBoard();
+            if (o.pace() != null) {
+                sim.pace(Pacer.of(o.pace()));
+            }
+            sim.start();
+            Thread.sleep(o.warmup().toMillis());
+
+            long fights0 = score.totalFights();
+            long start = System.nanoTime();
+            long end = start + o.duration().toNanos();
+            long sampleNanos = Math.max(1, o.sampleEvery().toNanos());
+            boolean periodic = !o.pauseEvery().isZero(); // pauseEvery=0: sin pausas periódicas
+            long pauseNanos = o.pauseEvery().toNanos();
+            long nextSample = start;
+            long nextPause = start + pauseNanos;
+            List<Sample> curve = new ArrayList<>();
+            LatencyHistogram pauses = new LatencyHistogram();
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                if (periodic && now >= nextPause) {
+                    sim.pause();
+                    pauses.record(sim.controller().lastTimeToSafepointNanos());
+                    sim.resume();
+                    nextPause += pauseNanos;
+                }
+                if (now >= nextSample) {
+                    curve.add(new Sample((now - start) / 1_000_000, sim.aliveCount(),
+                            score.totalFights() - fights0, sim.totalHealth()));
+                    nextSample += sampleNanos;
+                }
+                long wake = Math.min(periodic ? Math.min(nextSample, nextPause) : nextSample, end);
+                Thread.sleep(Math.max(1, (wake - System.nanoTime()) / 1_000_000));
+            }
+
+            sim.pause();
+            long elapsed = System.nanoTime() - start;
+            long fights = score.totalFights() - fights0;
+            var stats = sim.reconcileStats(); // ya en pausa: deja los agregados exactos
+            curve.add(new Sample(elapsed / 1_000_000, stats.aliveCount(), fights, stats.totalHealth()));
+            return new Report(o, fights, fights * 1e9 / elapsed, curve,
+                    pauses.count(), pauses.percentile(0.50), pauses.percentile(0.99), pauses.max(),
+                    score.lockWait().percentile(0.99), score.fightDuration().percentile(0.99),
+                    stats.totalHealth(), stats.aliveCount(), score.totalKills(),
+                    (long) o.count() * o.health(), deadlocks(sim));
+        }
+    }
+
+    /*
+     * Deadlocks rotos por el detector (solo con -Dfight=naive-detect), para
+     * medir cuánto throughput cuestan.
+     */
+    private static long deadlocks(Simulation sim) {
+        return sim instanceof ImmortalManager m && m.strategy() instanceof DetectingFightStrategy d
+                ? d.detector().aborted() : 0;
+    }
+
+    /**
+     * Corre con las propiedades del sistema y escribe el reporte: CSV si
+     * -Dreport termina en .csv (más la curva en {@code <nombre>-curve.csv}),
+     * JSON en cualquier otro caso; sin -Dreport, JSON por la salida estándar.
+     * Con -Djfr=archivo.jfr además graba los eventos JFR del proyecto.
+     */
+    public static void main(String[] args) throws Exception {
+        Options o = Options.fromSystemProperties();
+        String jfr = System.getProperty("jfr");
+        Recording recording = jfr == null || jfr.isBlank() ? null : FlightEvents.start(Path.of(jfr));
+        Report r;
+        try {
+            r = run(o);
+        } finally {
+            if (recording != null) {
+                recording.stop(); // escribe el .jfr
+                recording.close();
+            }
+        }
+        if (o.report() == null) {
+            PrintStream out = System.out;
+            out.println(toJson(r));
+            return;
+        }
+        String file = o.report().getFileName().toString();
+        if (file.toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            write(o.report(), w -> writeSummaryCsv(r, w));
+            Path curve = o.report().resolveSibling(file.substring(0, file.length() - 4) + "-curve.csv");
+            write(curve, w -> writeCurveCsv(r, w));
+        } else {
+            write(o.report(), w -> w.write(toJson(r)));
+        }
+        System.out.printf(Locale.ROOT, "%d fights (%.0f/s), alive %d/%d -> %s%n",
+                r.fights(), r.fightsPerSecond(), r.finalAlive(), o.count(), o.report());
+    }
+
+    public static String toJson(Report r) {
+        Options o = r.options();
+        StringBuilder sb = new StringBuilder(256 + r.curve().size() * 64);
+        sb.append("{\n");
+        sb.append("  \"options\": {\"engine\": \"").append(o.engine()).append("\", \"count\": ").append(o.count())
+                .append(", \"health\": ").append(o.health()).append(", \"damage\": ").append(o.damage())
+                .append(", \"fight\": \"").append(o.fight()).append("\", \"durationMs\": ").append(o.duration().toMillis())
+                .append(", \"warmupMs\": ").append(o.warmup().toMillis()).append(", \"seed\": ").append(o.seed())
+                .append(", \"pace\": \"").append(o.pace() == null ? "default" : o.pace()).append("\", \"arenas\": ")
+                .append(o.arenas()).append(", \"crossArena\": ").append(o.crossArenaRate()).append("},\n");
+        sb.append("  \"fights\": ").append(r.fights()).append(",\n");
+        sb.append(String.format(Locale.ROOT, "  \"fightsPerSecond\": %.1f,%n", r.fightsPerSecond()));
+        sb.append("  \"pause\": {\"count\": ").append(r.pauses()).append(", \"p50Nanos\": ").append(r.pauseP50Nanos())
+                .append(", \"p99Nanos\": ").append(r.pauseP99Nanos()).append(", \"maxNanos\": ").append(r.pauseMaxNanos())
+                .append("},\n");
+        sb.append("  \"lockWaitP99Nanos\": ").append(r.lockWaitP99Nanos()).append(",\n");
+        sb.append("  \"fightP99Nanos\": ").append(r.fightP99Nanos()).append(",\n");
+        sb.append("  \"final\": {\"totalHealth\": ").append(r.finalTotalHealth()).append(", \"alive\": ")
+                .append(r.finalAlive()).append(", \"kills\": ").append(r.totalKills())
+                .append(", \"initialTotalHealth\": ").append(r.initialTotalHealth()).append("},\n");
+        sb.append("  \"deadlocks\": ").append(r.deadlocks()).append(",\n");
+        sb.append("  \"curve\": [");
+        for (int i = 0; i < r.curve().size(); i++) {
+            Sample s = r.curve().get(i);
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append("    {\"ms\": ").append(s.millis()).append(", \"alive\": ").append(s.alive())
+                    .append(", \"fights\": ").append(s.fights()).append(", \"totalHealth\": ").append(s.totalHealth())
+                    .append('}');
+        }
+        sb.append("\n  ]\n}\n");
+        return sb.toString();
+    }
+
+    static void writeSummaryCsv(Report r, Writer w) throws IOException {
+        Options o = r.options();
+        w.write("engine,count,health,damage,fight,duration_ms,warmup_ms,seed,fights,fights_per_sec,"
+                + "pauses,pause_p50_ns,pause_p99_ns,pause_max_ns,lock_wait_p99_ns,fight_p99_ns,"
+                + "final_total_health,final_alive,kills,deadlocks,pace\n");
+        w.write(String.format(Locale.ROOT, "%s,%d,%d,%d,%s,%d,%d,%d,%d,%.1f,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%s%n",
+                o.engine(), o.count(), o.health(), o.damage(), o.fight(), o.duration().toMillis(),
+                o.warmup().toMillis(), o.seed(), r.fights(), r.fightsPerSecond(), r.pauses(),
+                r.pauseP50Nanos(), r.pauseP99Nanos(), r.pauseMaxNanos(), r.lockWaitP99Nanos(),
+                r.fightP99Nanos(), r.finalTotalHealth(), r.finalAlive(), r.totalKills(), r.deadlocks(),
+                o.pace() == null ? "default" : o.pace()));
+    }
+
+    static void writeCurveCsv(Report r, Writer w) throws IOException {
+        w.write("ms,alive,fights,total_health\n");
+        for (Sample s : r.curve()) {
+            w.write(s.millis() + "," + s.alive() + "," + s.fights() + "," + s.totalHealth() + "\n");
+        }
+    }
+
+    private interface WriterBody {
+        void write(Writer w) throws IOException;
+    }
+
+    private static void write(Path path, WriterBody body) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer w = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            body.write(w);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package edu.eci.arsw.app;
 
 import edu.eci.arsw.demos.DeadlockDemo;
 import edu.eci.arsw.demos.OrderedTransferDemo;
+import edu.eci.arsw.demos.TransferLoadGenerator;
 import edu.eci.arsw.demos.TryLockTransferDemo;
 
 public final class Main {
@@ -15,17 +16,30 @@ public final class Main {
             case "demos" -> {
                 String demo = System.getProperty("demo", "2");
                 switch (demo) {
-                    case "1" ->
-                        DeadlockDemo.run();
+                    case "1" -> {
+                        if (Boolean.getBoolean("detect")) {
+                            DeadlockDemo.runDetected();
+                        } else {
+                            DeadlockDemo.run();
+                        }
+                    }
                     case "2" ->
                         OrderedTransferDemo.run();
                     case "3" ->
                         TryLockTransferDemo.run();
+                    case "4" ->
+                        TransferLoadGenerator.run();
                     default ->
-                        System.out.println("Use -Ddemo=1|2|3");
+                        System.out.println("Use -Ddemo=1|2|3|4");
                 }
             }
-            case "immortals", "ui" -> {
+            case "headless", "immortals" ->
+                HeadlessRun.main(args);
+            case "pinning" ->
+                PinningReport.main(args);
+            case "sharded" ->
+                ShardedRun.main(args);
+            case "ui" -> {
                 int n = Integer.getInteger("count", 8);
                 String fight = System.getProperty("fight", "ordered");
                 javax.swing.SwingUtilities.invokeLater(
@@ -33,7 +47,7 @@ public final class Main {
                 );
             }
             default ->
-                System.out.println("Use -Dmode=immortals|demos|ui");
+                System.out.println("Use -Dmode=ui|headless|demos|pinning|sharded");
         }
     }
 }
@@ -0,0 +1,140 @@
+package edu.eci.arsw.app;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Compara cuánto tiempo quedan fijados (pinned) los carriers de los hilos
+ * virtuales con cada estrategia de pelea, por defecto la versión de legado
+ * con monitores ("ordered-monitor") contra la de ReentrantLock ("ordered").
+ *
+ * Cada estrategia corre sola con una grabación JFR. Un hilo virtual que espera
+ * un monitor en Java 21 bloquea su carrier sin desmontarse, y eso aparece
+ * como {@code jdk.JavaMonitorEnter}; si estacionara dentro de un monitor,
+ * aparece como {@code jdk.VirtualThreadPinned}. Ambos se suman (solo los de
+ * hilos virtuales) como tiempo de carrier bloqueado.
+ */
+public final class PinningReport {
+
+    /**
+     * Parámetros; {@link #fromSystemProperties()} los lee de -Dcount, -Dhealth,
+     * -Ddamage, -Dduration, -Dwarmup (ms), -Dseed y -Dstrategies (separadas
+     * por coma).
+     */
+    public record Options(int count, int health, int damage, Duration duration, Duration warmup, long seed,
+            List<String> strategies) {
+
+        public Options {
+            strategies = List.copyOf(strategies);
+        }
+
+        public static Options fromSystemProperties() {
+            return new Options(
+                    Integer.getInteger("count", 1_000),
+                    Integer.getInteger("health", 1_000_000),
+                    Integer.getInteger("damage", 1),
+                    Duration.ofMillis(Long.getLong("duration", 5_000)),
+                    Duration.ofMillis(Long.getLong("warmup", 1_000)),
+                    Long.getLong("seed", 42),
+                    Arrays.stream(System.getProperty("strategies", "ordered-monitor,ordered").split(","))
+                            .map(String::trim).toList());
+        }
+    }
+
+    /**
+     * Resultado de una estrategia: peleas en la ventana medida y el tiempo que
+     * los hilos virtuales tuvieron su carrier bloqueado.
+     */
+    public record Row(String strategy, long fights, double fightsPerSecond,
+            long monitorEnters, long monitorBlockedNanos, long pinnedEvents, long pinnedNanos) {
+
+        public long carrierBlockedNanos() {
+            return monitorBlockedNanos + pinnedNanos;
+        }
+    }
+
+    private PinningReport() {
+    }
+
+    public static List<Row> run(Options o) throws IOException, InterruptedException {
+        List<Row> rows = new ArrayList<>();
+        for (String strategy : o.strategies()) {
+            rows.add(run(o, strategy));
+        }
+        return rows;
+    }
+
+    public static Row run(Options o, String strategy) throws IOException, InterruptedException {
+        Path file = Files.createTempFile("pinning-" + strategy, ".jfr");
+        try {
+            long fights;
+            long elapsed;
+            try (var m = new ImmortalManager(o.count(), FightStrategy.of(strategy), o.health(), o.damage(), o.seed())) {
+                m.start(); // hilos virtuales
+                Thread.sleep(o.warmup().toMillis());
+                try (Recording recording = new Recording()) {
+                    recording.enable("jdk.JavaMonitorEnter").withoutThreshold().withoutStackTrace();
+                    recording.enable("jdk.VirtualThreadPinned").withoutThreshold().withoutStackTrace();
+                    recording.setDestination(file);
+                    long fights0 = m.scoreBoard().totalFights();
+                    long start = System.nanoTime();
+                    recording.start();
+                    Thread.sleep(o.duration().toMillis());
+                    recording.stop();
+                    elapsed = System.nanoTime() - start;
+                    fights = m.scoreBoard().totalFights() - fights0;
+                }
+            }
+            long enters = 0;
+            long blocked = 0;
+            long pinned = 0;
+            long pinnedNanos = 0;
+            for (RecordedEvent e : RecordingFile.readAllEvents(file)) {
+                RecordedThread t = e.getThread();
+                if (t == null || !t.isVirtual()) {
+                    continue;
+                }
+                if (e.getEventType().getName().equals("jdk.JavaMonitorEnter")) {
+                    enters++;
+                    blocked += e.getDuration().toNanos();
+                } else {
+                    pinned++;
+                    pinnedNanos += e.getDuration().toNanos();
+                }
+            }
+            return new Row(strategy, fights, fights * 1e9 / elapsed, enters, blocked, pinned, pinnedNanos);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options o = Options.fromSystemProperties();
+        System.out.printf(Locale.ROOT, "Pinning report: %d immortals, %d ms per strategy, %s carriers%n",
+                o.count(), o.duration().toMillis(),
+                System.getProperty("jdk.virtualThreadScheduler.parallelism",
+                        String.valueOf(Runtime.getRuntime().availableProcessors())));
+        System.out.printf("%-16s %12s %14s %16s %14s %16s%n",
+                "strategy", "fights/s", "monitor waits", "monitor ms", "pinned parks", "blocked/wall");
+        for (Row r : run(o)) {
+            // suma sobre todos los carriers: puede pasar de 100% con varios
+            double blockedShare = r.carrierBlockedNanos() / (o.duration().toNanos() * 1.0);
+            System.out.printf(Locale.ROOT, "%-16s %12.0f %14d %16.1f %14d %15.1f%%%n",
+                    r.strategy(), r.fightsPerSecond(), r.monitorEnters(), r.monitorBlockedNanos() / 1e6,
+                    r.pinnedEvents(), blockedShare * 100);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package edu.eci.arsw.app;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import edu.eci.arsw.distributed.Coordinator;
+import edu.eci.arsw.distributed.ShardNode;
+import edu.eci.arsw.distributed.ShardStatus;
+
+/**
+ * Corre una simulación repartida en varios procesos del mismo equipo: lanza
+ * un JVM hijo por shard (mismo java y classpath, ver {@link ShardNode#main}),
+ * los conecta por loopback y los controla con un {@link Coordinator}. Cada
+ * {@code sampleEvery} hace una pausa global, suma vivos y salud de todos los
+ * shards y reanuda; termina al cumplir {@code duration} o cuando queda un solo
+ * vivo.
+ */
+public final class ShardedRun {
+
+    /**
+     * Parámetros; {@link #fromSystemProperties()} los lee de -Dshards,
+     * -Dcount (población global), -Dfight, -Dhealth, -Ddamage, -Dseed,
+     * -DcrossShard (probabilidad de pelear contra otro shard), -Dpace,
+     * -Dduration y -DsampleEvery (ms).
+     */
+    public record Options(int shards, int count, String fight, int health, int damage, long seed,
+            double crossShardRate, String pace, Duration duration, Duration sampleEvery) {
+
+        public static Options fromSystemProperties() {
+            return new Options(
+                    Integer.getInteger("shards", 2),
+                    Integer.getInteger("count", 1_000),
+                    System.getProperty("fight", "ordered"),
+                    Integer.getInteger("health", 100),
+                    Integer.getInteger("damage", 10),
+                    Long.getLong("seed", 42),
+                    Double.parseDouble(System.getProperty("crossShard", "0.05")),
+                    System.getProperty("pace", "sleep"),
+                    Duration.ofMillis(Long.getLong("duration", 10_000)),
+                    Duration.ofMillis(Long.getLong("sampleEvery", 1_000)));
+        }
+
+        ShardNode.Config shard(int s) {
+            return new ShardNode.Config(s, shards, count, fight, health, damage, seed, crossShardRate, pace);
+        }
+    }
+
+    private ShardedRun() {
+    }
+
+    /**
+     * Lanza los procesos, corre la simulación y retorna el estado final de
+     * cada shard. El progreso (una línea por muestra) va a {@code log}.
+     */
+    public static List<ShardStatus> run(Options o, PrintStream log) throws IOException, InterruptedException {
+        List<Process> processes = new ArrayList<>();
+        try {
+            List<InetSocketAddress> addresses = new ArrayList<>();
+            for (int s = 0; s < o.shards(); s++) {
+                Process p = launch(o.shard(s));
+                processes.add(p);
+                addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), awaitPort(p, s)));
+            }
+            List<ShardStatus> last;
+            try (var coordinator = Coordinator.connect(addresses)) {
+                coordinator.start();
+                long start = System.nanoTime();
+                long end = start + o.duration().toNanos();
+                while (true) {
+                    long now = System.nanoTime();
+                    if (now >= end) {
+                        break;
+                    }
+                    long left = TimeUnit.NANOSECONDS.toMillis(end - now);
+                    Thread.sleep(Math.max(1, Math.min(o.sampleEvery().toMillis(), left)));
+                    long tts = coordinator.pause();
+                    List<ShardStatus> status = coordinator.status();
+                    coordinator.resume();
+                    int alive = status.stream().mapToInt(ShardStatus::alive).sum();
+                    log.printf(Locale.ROOT, "%6d ms alive=%d health=%d fights=%d remote=%d pause=%.2f ms%n",
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), alive,
+                            status.stream().mapToLong(ShardStatus::totalHealth).sum(),
+                            status.stream().mapToLong(ShardStatus::fights).sum(),
+                            status.stream().mapToLong(ShardStatus::remoteStrikes).sum(), tts / 1e6);
+                    if (alive <= 1) {
+                        break;
+                    }
+                }
+                last = coordinator.stop();
+            }
+            for (Process p : processes) {
+                if (!p.waitFor(10, TimeUnit.SECONDS)) {
+                    p.destroy();
+                }
+            }
+            return last;
+        } finally {
+            processes.forEach(p -> {
+                if (p.isAlive()) {
+                    p.destroyForcibly();
+                }
+            });
+        }
+    }
+
+    private static Process launch(ShardNode.Config c) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "-Dshard=" + c.shard(), "-Dshards=" + c.shards(), "-Dcount=" + c.population(),
+                "-Dfight=" + c.fight(), "-Dhealth=" + c.health(), "-Ddamage=" + c.damage(),
+                "-Dseed=" + c.seed(), "-DcrossShard=" + c.crossShardRate(), "-Dpace=" + c.pace(),
+                ShardNode.class.getName())
+                .redirectErrorStream(true)
+                .start();
+    }
+
+    /*
+     * Lee la salida del hijo hasta que anuncia su puerto; el resto se sigue
+     * consumiendo en un hilo virtual para que el hijo nunca se bloquee
+     * escribiendo.
+     */
+    private static int awaitPort(Process p, int shard) throws IOException, InterruptedException {
+        var out = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8));
+        String prefix = "shard " + shard + " listening on ";
+        String line;
+        while ((line = out.readLine()) != null) {
+            if (line.startsWith(prefix)) {
+                Thread.ofVirtual().start(() -> {
+                    try {
+                        while (out.readLine() != null) {
+                            // descartar
+                        }
+                    } catch (IOException ignored) {
+                        // el hijo terminó
+                    }
+                });
+                return Integer.parseInt(line.substring(prefix.length()).trim());
+            }
+        }
+        // Sin salida estándar el hijo casi siempre está terminando; exitValue() solo si ya terminó
+        if (!p.waitFor(5, TimeUnit.SECONDS)) {
+            throw new IOException("Shard " + shard + " closed its output before listening and is still running");
+        }
+        throw new IOException("Shard " + shard + " exited before listening (exit " + p.exitValue() + ")");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options o = Options.fromSystemProperties();
+        System.out.printf(Locale.ROOT, "Sharded run: %d immortals in %d processes, cross-shard %.2f, %d ms%n",
+                o.count(), o.shards(), o.crossShardRate(), o.duration().toMillis());
+        List<ShardStatus> last = run(o, System.out);
+        System.out.printf("%-6s %8s %8s %12s %12s %8s %10s %10s %9s%n",
+                "shard", "size", "alive", "health", "fights", "kills", "remote", "defended", "msg/frame");
+        for (ShardStatus s : last) {
+            System.out.printf(Locale.ROOT, "%-6d %8d %8d %12d %12d %8d %10d %10d %9.1f%n",
+                    s.shard(), s.size(), s.alive(), s.totalHealth(), s.fights(), s.kills(), s.remoteStrikes(),
+                    s.remoteDefends(), s.batching());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Capa de locks instrumentada que mantiene un grafo de espera vivo: qué hilo
+ * tiene cada lock y qué lock espera cada hilo. Funciona igual con hilos
+ * virtuales, que ThreadMXBean no ve bien.
+ *
+ * Un hilo que no obtiene el lock de inmediato lo reintenta con
+ * {@code tryLock} cada {@code poll} y, entre intentos, recorre el grafo
+ * desde sí mismo. Si vuelve a sí mismo hay un ciclo: la víctima es el hilo
+ * del ciclo con mayor id (todos los participantes eligen la misma), que lo
+ * reporta y, si {@code abortVictim}, lanza {@link DeadlockException} en vez
+ * de seguir esperando. Así un deadlock se detecta en unos pocos {@code poll}.
+ *
+ * Las aristas se escriben antes de esperar y se quitan antes de soltar, así
+ * que el grafo puede atrasarse un instante pero no inventa ciclos entre
+ * hilos que realmente están esperando.
+ */
+public final class DeadlockDetector {
+
+    /**
+     * Un ciclo detectado: cada hilo participante y el recurso que espera, en
+     * orden de la cadena de espera, y la víctima elegida.
+     */
+    public record Report(List<String> threads, List<String> resources, String victim) {
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < threads.size(); i++) {
+                sb.append(threads.get(i)).append(" waits for ").append(resources.get(i)).append("; ");
+            }
+            return sb.append("victim ").append(victim).toString();
+        }
+    }
+
+    private record Waiting(ReentrantLock lock, String resource) {
+    }
+
+    static final long DEFAULT_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<ReentrantLock, Thread> owners = new ConcurrentHashMap<>();
+    private final Map<Thread, Waiting> waiting = new ConcurrentHashMap<>();
+    private final boolean abortVictim;
+    private final long pollNanos;
+    private final Consumer<Report> listener;
+    private final LongAdder detected = new LongAdder();
+    private final LongAdder aborted = new LongAdder();
+
+    /**
+     * Detector que rompe los ciclos abortando a la víctima.
+     */
+    public DeadlockDetector() {
+        this(true, DEFAULT_POLL_NANOS, r -> { });
+    }
+
+    /**
+     * @param abortVictim si false, solo reporta y la víctima sigue esperando.
+     * @param pollNanos cada cuánto reintentar el lock y revisar el grafo.
+     * @param listener recibe cada ciclo detectado, en el hilo víctima.
+     */
+    public DeadlockDetector(boolean abortVictim, long pollNanos, Consumer<Report> listener) {
+        if (pollNanos <= 0) {
+            throw new IllegalArgumentException("pollNanos must be positive");
+        }
+        this.abortVictim = abortVictim;
+        this.pollNanos = pollNanos;
+        this.listener = Objects.requireNonNull(listener);
+    }
+
+    /**
+     * Toma {@code lock}, que protege a {@code resource} (solo se usa para
+     * reportar).
+     *
+     * @throws DeadlockException si este hilo es la víctima de un ciclo y el
+     * detector aborta víctimas; el lock no quedó tomado.
+     * @throws InterruptedException si el hilo es interrumpido mientras espera.
+     */
+    public void lock(ReentrantLock lock, String resource) throws InterruptedException {
+        Thread me = Thread.currentThread();
+        if (lock.tryLock()) {
+            owners.put(lock, me); // camino rápido: sin contención no hay arista de espera
+            return;
+        }
+        waiting.put(me, new Waiting(lock, resource));
+        try {
+            boolean reported = false;
+            while (!lock.tryLock(pollNanos, TimeUnit.NANOSECONDS)) {
+                List<Thread> cycle = findCycle(me);
+                if (cycle == null || victim(cycle) != me || reported) {
+                    continue;
+                }
+                Report report = report(cycle);
+                detected.increment();
+                listener.accept(report);
+                if (abortVictim) {
+                    aborted.increment();
+                    throw new DeadlockException(report);
+                }
+                reported = true;
+            }
+            owners.put(lock, me);
+        } finally {
+            waiting.remove(me);
+        }
+    }
+
+    /**
+     * Suelta un lock tomado con {@link #lock}.
+     */
+    public void unlock(ReentrantLock lock) {
+        if (lock.getHoldCount() == 1) {
+            owners.remove(lock, Thread.currentThread());
+        }
+        lock.unlock();
+    }
+
+    /** Ciclos detectados (cada uno cuenta una vez, en su víctima). */
+    public long detected() {
+        return detected.sum();
+    }
+
+    /** Víctimas abortadas con DeadlockException. */
+    public long aborted() {
+        return aborted.sum();
+    }
+
+    /*
+     * Sigue las aristas hilo -> lock esperado -> dueño desde {@code me}.
+     * Retorna la cadena si vuelve a {@code me}; null si termina o entra en un
+     * ciclo que no incluye a este hilo (lo reportará uno de sus miembros).
+     */
+    private List<Thread> findCycle(Thread me) {
+        List<Thread> path = new ArrayList<>();
+        Thread t = me;
+        while (true) {
+            path.add(t);
+            Waiting w = waiting.get(t);
+            if (w == null) {
+                return null;
+            }
+            Thread owner = owners.get(w.lock());
+            if (owner == null) {
+                return null;
+            }
+            if (owner == me) {
+                return path;
+            }
+            if (path.contains(owner) || path.size() > waiting.size()) {
+                return null;
+            }
+            t = owner;
+        }
+    }
+
+    private static Thread victim(List<Thread> cycle) {
+        Thread victim = cycle.get(0);
+        for (Thread t : cycle) {
+            if (t.threadId() > victim.threadId()) {
+                victim = t;
+            }
+        }
+        return victim;
+    }
+
+    private Report report(List<Thread> cycle) {
+        List<String> threads = new ArrayList<>(cycle.size());
+        List<String> resources = new ArrayList<>(cycle.size());
+        for (Thread t : cycle) {
+            threads.add(describe(t));
+            Waiting w = waiting.get(t);
+            resources.add(w == null ? "?" : w.resource());
+        }
+        return new Report(threads, resources, describe(victim(cycle)));
+    }
+
+    private static String describe(Thread t) {
+        String name = t.getName();
+        return name.isEmpty() ? "#" + t.threadId() : name + "#" + t.threadId();
+    }
+}
@@ -0,0 +1,20 @@
+package edu.eci.arsw.concurrency;
+
+/**
+ * Lanzada por {@link DeadlockDetector#lock} en el hilo elegido como víctima
+ * de un ciclo de espera. El hilo no obtuvo el lock pedido; debe soltar los
+ * que tenga (normalmente en sus bloques finally) para romper el ciclo.
+ */
+public final class DeadlockException extends RuntimeException {
+
+    private final DeadlockDetector.Report report;
+
+    public DeadlockException(DeadlockDetector.Report report) {
+        super("Deadlock detected: " + report);
+        this.report = report;
+    }
+
+    public DeadlockDetector.Report report() {
+        return report;
+    }
+}
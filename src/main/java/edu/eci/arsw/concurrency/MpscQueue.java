@@ -0,0 +1,62 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cola lock-free de múltiples productores y un solo consumidor (algoritmo de
+ * Vyukov). {@link #offer} nunca bloquea ni toma monitores: un
+ * {@code getAndSet} sobre la cabeza y una escritura de enlace.
+ *
+ * Solo un hilo a la vez puede llamar {@link #poll}. El consumidor puede
+ * cambiar de hilo si hay una relación happens-before entre ambos (por ejemplo
+ * un PauseController de por medio).
+ */
+public final class MpscQueue<T> {
+
+    private static final class Node<T> {
+
+        T value;
+        volatile Node<T> next;
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+
+    private final AtomicReference<Node<T>> head;
+    private Node<T> tail; // solo lo toca el consumidor
+
+    public MpscQueue() {
+        Node<T> stub = new Node<>(null);
+        head = new AtomicReference<>(stub);
+        tail = stub;
+    }
+
+    /**
+     * Encola un valor. Seguro desde cualquier hilo.
+     */
+    public void offer(T value) {
+        Node<T> node = new Node<>(value);
+        Node<T> prev = head.getAndSet(node);
+        prev.next = node;
+    }
+
+    /**
+     * Extrae el siguiente valor o null si la cola está vacía (o si un
+     * productor todavía no terminó de enlazar su nodo).
+     */
+    public T poll() {
+        Node<T> next = tail.next;
+        if (next == null) {
+            return null;
+        }
+        T value = next.value;
+        next.value = null;
+        tail = next;
+        return value;
+    }
+
+    public boolean isEmpty() {
+        return tail.next == null;
+    }
+}
@@ -3,14 +3,29 @@ package edu.eci.arsw.concurrency;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
+import edu.eci.arsw.metrics.FlightEvents;
+import edu.eci.arsw.metrics.ResumeEvent;
+import edu.eci.arsw.metrics.SafepointEvent;
+
+/**
+ * Punto de pausa cooperativo (safepoint) para un grupo de hilos registrados.
+ *
+ * El estado es una época: par = corriendo, impar = en pausa. pause() y
+ * resume() la incrementan bajo el lock. Mientras no haya pausa,
+ * awaitIfPaused() es una sola lectura volatile y nunca toca el lock, así que
+ * miles de hilos pueden pasar por el safepoint en cada iteración sin
+ * contención.
+ */
 public final class PauseController {
 
     private final ReentrantLock lock = new ReentrantLock();
     private final Condition unpaused = lock.newCondition();
     private final Condition fullyPaused = lock.newCondition();
-    private volatile boolean paused = false;
+    private volatile long epoch = 0;
     private int waitingThreads = 0;
     private int totalThreads = 0;
+    private volatile long lastTimeToSafepointNanos = 0;
+    private volatile long maxTimeToSafepointNanos = 0;
 
     /**
      * Registrar un hilo que usará este controlador. Debe llamarse una vez por
@@ -29,49 +44,129 @@ public final class PauseController {
      * Desregistrar un hilo que ya no usará este controlador. Debe llamarse una
      * vez por cada hilo que haya llamado a registerThread.
      */
-    public void pause() {
+    public void deregisterThread() {
         lock.lock();
         try {
-            paused = true;
-            while (waitingThreads < totalThreads) {
-                fullyPaused.awaitUninterruptibly(); // esperamos a que todos se detengan
+            totalThreads--;
+            if (isPaused(epoch) && waitingThreads >= totalThreads) {
+                fullyPaused.signalAll(); // quienes pausan ya no deben esperar a este hilo
             }
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Pausar: bloquea hasta que todos los hilos registrados estén detenidos
+     * en awaitIfPaused.
+     *
+     * Si otro hilo ya pidió la pausa, también espera a que esa pausa se
+     * complete (o a que alguien reanude) antes de retornar.
+     *
+     * @return el tiempo hasta el safepoint en nanosegundos (desde que se pidió
+     * la pausa hasta que el último hilo se detuvo); 0 si ya estaba en pausa.
+     */
+    public long pause() {
+        lock.lock();
+        try {
+            if (isPaused(epoch)) {
+                awaitFullyPaused(epoch);
+                return 0;
+            }
+            var event = FlightEvents.enabled() ? new SafepointEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            long start = System.nanoTime();
+            epoch++;
+            awaitFullyPaused(epoch);
+            long tts = System.nanoTime() - start;
+            if (event != null && event.shouldCommit()) {
+                event.epoch = epoch;
+                event.threads = totalThreads;
+                event.commit();
+            }
+            lastTimeToSafepointNanos = tts;
+            if (tts > maxTimeToSafepointNanos) {
+                maxTimeToSafepointNanos = tts;
+            }
+            return tts;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Con el lock tomado: espera a que todos los hilos registrados estén
+     * detenidos, salvo que la época cambie (un resume) mientras tanto.
+     */
+    private void awaitFullyPaused(long pausedEpoch) {
+        while (epoch == pausedEpoch && waitingThreads < totalThreads) {
+            fullyPaused.awaitUninterruptibly();
+        }
+    }
+
     /**
      * Reanudar todos los hilos que estén esperando en awaitIfPaused.
      */
     public void resume() {
         lock.lock();
         try {
-            paused = false;
+            if (isPaused(epoch)) {
+                epoch++;
+                if (FlightEvents.enabled()) {
+                    var event = new ResumeEvent();
+                    if (event.shouldCommit()) {
+                        event.epoch = epoch;
+                        event.woken = waitingThreads;
+                        event.commit();
+                    }
+                }
+            }
             unpaused.signalAll();
+            fullyPaused.signalAll(); // un pause() concurrente deja de esperar
         } finally {
             lock.unlock();
         }
     }
 
     public boolean paused() {
-        return paused;
+        return isPaused(epoch);
+    }
+
+    /**
+     * Número de pausas/reanudaciones hechas hasta ahora; impar mientras la
+     * simulación está en pausa.
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    public long lastTimeToSafepointNanos() {
+        return lastTimeToSafepointNanos;
+    }
+
+    public long maxTimeToSafepointNanos() {
+        return maxTimeToSafepointNanos;
     }
 
     /**
      * Si el controlador está en pausa, el hilo que llame a este método se
      * bloqueará hasta que se reanude. Si no está en pausa, el método retorna
-     * inmediatamente.
+     * inmediatamente tras una sola lectura volatile.
      *
      * @throws InterruptedException si el hilo es interrumpido mientras espera.
      */
     public void awaitIfPaused() throws InterruptedException {
+        if (!isPaused(epoch)) {
+            return; // camino rápido
+        }
         lock.lockInterruptibly();
         try {
-            while (paused) {
+            while (isPaused(epoch)) {
                 waitingThreads++;
-                if (waitingThreads == totalThreads) {
-                    fullyPaused.signal(); // notificar que todos llegaron
+                if (waitingThreads >= totalThreads) {
+                    fullyPaused.signalAll(); // notificar a todos los que pausan
                 }
                 try {
                     unpaused.await();
@@ -83,4 +178,8 @@ public final class PauseController {
             lock.unlock();
         }
     }
+
+    private static boolean isPaused(long epoch) {
+        return (epoch & 1) != 0;
+    }
 }
@@ -0,0 +1,86 @@
+package edu.eci.arsw.core;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class AccountStore {
+  public static final int DEFAULT_STRIPES = 1024;
+  private final long[] balances;
+  private final ReentrantLock[] stripes;
+  private final int mask;
+
+  public AccountStore(int accounts, long initial) { this(accounts, initial, DEFAULT_STRIPES); }
+  public AccountStore(int accounts, long initial, int stripes) {
+    if (accounts < 0) throw new IllegalArgumentException("accounts must be >= 0");
+    if (stripes < 1) throw new IllegalArgumentException("stripes must be positive");
+    this.balances = new long[accounts];
+    Arrays.fill(balances, initial);
+    int s = Integer.highestOneBit(stripes);
+    if (s < stripes) s <<= 1;
+    this.stripes = new ReentrantLock[s];
+    for (int i = 0; i < s; i++) this.stripes[i] = new ReentrantLock();
+    this.mask = s - 1;
+  }
+
+  public int size() { return balances.length; }
+  public int stripes() { return stripes.length; }
+  ReentrantLock stripeOf(int id) { return stripes[id & mask]; }
+
+  public long balance(int id) {
+    Objects.checkIndex(id, balances.length);
+    var lock = stripeOf(id);
+    lock.lock();
+    try { return balances[id]; } finally { lock.unlock(); }
+  }
+
+  public void transferOrdered(int from, int to, long amount) {
+    Objects.checkIndex(from, balances.length); Objects.checkIndex(to, balances.length);
+    int sf = from & mask, st = to & mask;
+    ReentrantLock first = stripes[Math.min(sf, st)];
+    ReentrantLock second = stripes[Math.max(sf, st)];
+    first.lock();
+    try {
+      if (second != first) second.lock();
+      try { withdrawDeposit(from, to, amount); }
+      finally { if (second != first) second.unlock(); }
+    } finally { first.unlock(); }
+  }
+
+  public void transferTryLock(int from, int to, long amount, Duration maxWait) throws InterruptedException {
+    Objects.checkIndex(from, balances.length); Objects.checkIndex(to, balances.length);
+    ReentrantLock a = stripeOf(from); ReentrantLock b = stripeOf(to);
+    long deadline = System.nanoTime() + maxWait.toNanos();
+    while (System.nanoTime() < deadline) {
+      if (a.tryLock(10, TimeUnit.MILLISECONDS)) {
+        try {
+          if (b == a || b.tryLock(10, TimeUnit.MILLISECONDS)) {
+            try { withdrawDeposit(from, to, amount); return; }
+            finally { if (b != a) b.unlock(); }
+          }
+        } finally { a.unlock(); }
+      }
+      Thread.sleep(ThreadLocalRandom.current().nextInt(1, 5));
+    }
+    throw new InterruptedException("transferTryLock timed out");
+  }
+
+  public long totalBalance() {
+    for (ReentrantLock l : stripes) l.lock();
+    try {
+      long total = 0;
+      for (long b : balances) total += b;
+      return total;
+    } finally {
+      for (int i = stripes.length - 1; i >= 0; i--) stripes[i].unlock();
+    }
+  }
+
+  private void withdrawDeposit(int from, int to, long amount) {
+    if (balances[from] < amount) throw new IllegalArgumentException("Insufficient funds");
+    balances[from] -= amount; balances[to] += amount;
+  }
+}
@@ -0,0 +1,92 @@
+package edu.eci.arsw.core;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.eci.arsw.metrics.TransferEvent;
+
+public final class AdaptiveTransfer {
+  public static final int DEFAULT_HOT_THRESHOLD = 8;
+  public static final int DEFAULT_MAX_ATTEMPTS = 6;
+  private static final int MISS_PENALTY = 2, MAX_CONTENTION = 64;
+  private static final long MIN_BACKOFF_NANOS = 1_000;
+  private final int hotThreshold, maxAttempts;
+  private final long maxBackoffNanos;
+  private final LongAdder fastPath = new LongAdder(), retries = new LongAdder(), fallbacks = new LongAdder();
+
+  public AdaptiveTransfer() { this(DEFAULT_HOT_THRESHOLD, DEFAULT_MAX_ATTEMPTS, Duration.ofMillis(1)); }
+  public AdaptiveTransfer(int hotThreshold, int maxAttempts, Duration maxBackoff) {
+    if (hotThreshold < 1) throw new IllegalArgumentException("hotThreshold must be positive");
+    if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be positive");
+    this.hotThreshold = hotThreshold; this.maxAttempts = maxAttempts;
+    this.maxBackoffNanos = Math.max(MIN_BACKOFF_NANOS, maxBackoff.toNanos());
+  }
+
+  public long fastPath() { return fastPath.sum(); }
+  public long retries() { return retries.sum(); }
+  public long fallbacks() { return fallbacks.sum(); }
+  public boolean isHot(BankAccount account) { return account.contention() >= hotThreshold; }
+
+  public int transfer(BankAccount from, BankAccount to, long amount) {
+    Objects.requireNonNull(from); Objects.requireNonNull(to);
+    var event = TransferEvent.started();
+    int retries = -1;
+    try { return retries = adaptive(from, to, amount); }
+    finally { TransferEvent.end(event, "adaptive", from.id(), to.id(), amount, Math.max(retries, 0), retries >= 0); }
+  }
+
+  private int adaptive(BankAccount from, BankAccount to, long amount) {
+    BankAccount first = from.id() < to.id() ? from : to;
+    BankAccount second = first == from ? to : from;
+    int attempt = 0;
+    for (; attempt < maxAttempts && !isHot(first) && !isHot(second); attempt++) {
+      ReentrantLock a = first.lock();
+      if (a.tryLock()) {
+        try {
+          ReentrantLock b = second.lock();
+          if (b.tryLock()) {
+            try {
+              TransferService.withdrawDeposit(from, to, amount);
+              first.uncontended(); second.uncontended();
+              if (attempt == 0) fastPath.increment();
+              return attempt;
+            } finally { b.unlock(); }
+          }
+          second.contended(MISS_PENALTY, MAX_CONTENTION);
+        } finally { a.unlock(); }
+      } else {
+        first.contended(MISS_PENALTY, MAX_CONTENTION);
+      }
+      retries.increment();
+      backoff(attempt);
+    }
+    fallbacks.increment();
+    ordered(from, to, first, second, amount);
+    return attempt;
+  }
+
+  // Espera exponencial con jitter completo: un valor uniforme en [0, min(max, base * 2^intento)).
+  private void backoff(int attempt) {
+    long cap = Math.min(maxBackoffNanos, MIN_BACKOFF_NANOS << Math.min(attempt, 20));
+    LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(cap) + 1);
+  }
+
+  private static void ordered(BankAccount from, BankAccount to, BankAccount first, BankAccount second, long amount) {
+    acquire(first);
+    try {
+      acquire(second);
+      try { TransferService.withdrawDeposit(from, to, amount); }
+      finally { second.lock().unlock(); }
+    } finally { first.lock().unlock(); }
+  }
+
+  private static void acquire(BankAccount account) {
+    if (account.lock().tryLock()) { account.uncontended(); return; }
+    account.contended(MISS_PENALTY, MAX_CONTENTION);
+    account.lock().lock();
+  }
+}
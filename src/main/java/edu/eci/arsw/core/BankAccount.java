@@ -1,16 +1,28 @@
 package edu.eci.arsw.core;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 public final class BankAccount {
   private final long id;
-  private long balance;
+  private volatile long balance;
+  private final AtomicLong version = new AtomicLong();
   private final ReentrantLock lock = new ReentrantLock();
+  private final AtomicInteger contention = new AtomicInteger();
 
   public BankAccount(long id, long initial) { this.id = id; this.balance = initial; }
   public long id() { return id; }
   public long balance() { return balance; }
+  public long version() { return version.get(); }
   public ReentrantLock lock() { return lock; }
+  public int contention() { return contention.get(); }
+  void contended(int step, int cap) { contention.getAndUpdate(c -> Math.min(cap, c + step)); }
+  void uncontended() { if (contention.get() > 0) contention.getAndUpdate(c -> c > 0 ? c - 1 : 0); }
+  boolean tryBeginWrite(long expected) { return (expected & 1) == 0 && version.compareAndSet(expected, expected + 1); }
+  void beginWrite() { for (int spins = 0; !tryBeginWrite(version.get()); spins++) TransferService.backoff(spins); }
+  void endWrite() { version.incrementAndGet(); }
+  void abortWrite() { version.decrementAndGet(); }
   void depositInternal(long amount) { balance += amount; }
   void withdrawInternal(long amount) { balance -= amount; }
 }
@@ -0,0 +1,6 @@
+package edu.eci.arsw.core;
+
+public record BatchResult(boolean[] applied, int windows, int groups, long lockAcquisitions) {
+  public int succeeded() { int n = 0; for (boolean ok : applied) if (ok) n++; return n; }
+  public int failed() { return applied.length - succeeded(); }
+}
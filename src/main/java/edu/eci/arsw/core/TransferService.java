@@ -1,14 +1,61 @@
 package edu.eci.arsw.core;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntUnaryOperator;
+
+import edu.eci.arsw.concurrency.DeadlockDetector;
+import edu.eci.arsw.metrics.TransferEvent;
 
 public final class TransferService {
   public static void transferNaive(BankAccount from, BankAccount to, long amount) {
     Objects.requireNonNull(from); Objects.requireNonNull(to);
+    var event = TransferEvent.started();
+    boolean ok = false;
+    try { naive(from, to, amount); ok = true; }
+    finally { TransferEvent.end(event, "naive", from.id(), to.id(), amount, 0, ok); }
+  }
+  public static void transferNaive(BankAccount from, BankAccount to, long amount, DeadlockDetector detector) throws InterruptedException {
+    Objects.requireNonNull(from); Objects.requireNonNull(to);
+    var event = TransferEvent.started();
+    boolean ok = false;
+    try { naive(from, to, amount, detector); ok = true; }
+    finally { TransferEvent.end(event, "naive-detect", from.id(), to.id(), amount, 0, ok); }
+  }
+  public static void transferOrdered(BankAccount from, BankAccount to, long amount) {
+    Objects.requireNonNull(from); Objects.requireNonNull(to);
+    var event = TransferEvent.started();
+    boolean ok = false;
+    try { ordered(from, to, amount); ok = true; }
+    finally { TransferEvent.end(event, "ordered", from.id(), to.id(), amount, 0, ok); }
+  }
+  public static int transferTryLock(BankAccount from, BankAccount to, long amount, Duration maxWait) throws InterruptedException {
+    Objects.requireNonNull(from); Objects.requireNonNull(to);
+    var event = TransferEvent.started();
+    int retries = -1;
+    try { return retries = tryLock(from, to, amount, maxWait); }
+    finally { TransferEvent.end(event, "trylock", from.id(), to.id(), amount, Math.max(retries, 0), retries >= 0); }
+  }
+  public static int transferOptimistic(BankAccount from, BankAccount to, long amount) {
+    Objects.requireNonNull(from); Objects.requireNonNull(to);
+    var event = TransferEvent.started();
+    int retries = -1;
+    try { return retries = optimistic(from, to, amount); }
+    finally { TransferEvent.end(event, "optimistic", from.id(), to.id(), amount, Math.max(retries, 0), retries >= 0); }
+  }
+  private static void naive(BankAccount from, BankAccount to, long amount) {
     var a = from.lock(); var b = to.lock();
     a.lock();
     try {
@@ -18,8 +65,17 @@ public final class TransferService {
       finally { b.unlock(); }
     } finally { a.unlock(); }
   }
-  public static void transferOrdered(BankAccount from, BankAccount to, long amount) {
-    Objects.requireNonNull(from); Objects.requireNonNull(to);
+  private static void naive(BankAccount from, BankAccount to, long amount, DeadlockDetector detector) throws InterruptedException {
+    var a = from.lock(); var b = to.lock();
+    detector.lock(a, "account " + from.id());
+    try {
+      sleepALittle();
+      detector.lock(b, "account " + to.id());
+      try { withdrawDeposit(from, to, amount); }
+      finally { detector.unlock(b); }
+    } finally { detector.unlock(a); }
+  }
+  private static void ordered(BankAccount from, BankAccount to, long amount) {
     BankAccount first = from.id() < to.id() ? from : to;
     BankAccount second = from.id() < to.id() ? to : from;
     first.lock().lock();
@@ -29,15 +85,14 @@ public final class TransferService {
       finally { second.lock().unlock(); }
     } finally { first.lock().unlock(); }
   }
-  public static void transferTryLock(BankAccount from, BankAccount to, long amount, Duration maxWait) throws InterruptedException {
-    Objects.requireNonNull(from); Objects.requireNonNull(to);
+  private static int tryLock(BankAccount from, BankAccount to, long amount, Duration maxWait) throws InterruptedException {
     ReentrantLock a = from.lock(); ReentrantLock b = to.lock();
     long deadline = System.nanoTime() + maxWait.toNanos();
-    while (System.nanoTime() < deadline) {
+    for (int retries = 0; System.nanoTime() < deadline; retries++) {
       if (a.tryLock(10, TimeUnit.MILLISECONDS)) {
         try {
           if (b.tryLock(10, TimeUnit.MILLISECONDS)) {
-            try { withdrawDeposit(from, to, amount); return; }
+            try { withdrawDeposit(from, to, amount); return retries; }
             finally { b.unlock(); }
           }
         } finally { a.unlock(); }
@@ -46,9 +101,184 @@ public final class TransferService {
     }
     throw new InterruptedException("transferTryLock timed out");
   }
-  private static void withdrawDeposit(BankAccount from, BankAccount to, long amount) {
-    if (from.balance() < amount) throw new IllegalArgumentException("Insufficient funds");
-    from.withdrawInternal(amount); to.depositInternal(amount);
+  public static BatchResult transferBatch(List<Transfer> transfers) { return transferBatch(transfers, ForkJoinPool.commonPool()); }
+  public static BatchResult transferBatch(List<Transfer> transfers, ForkJoinPool pool) {
+    Transfer[] batch = transfers.toArray(new Transfer[0]);
+    int n = batch.length;
+    var index = new IdentityHashMap<BankAccount, Integer>();
+    var accounts = new ArrayList<BankAccount>();
+    int[] from = new int[n], to = new int[n];
+    for (int i = 0; i < n; i++) {
+      Transfer t = batch[i];
+      from[i] = index.computeIfAbsent(t.from(), acc -> { accounts.add(acc); return accounts.size() - 1; });
+      to[i] = index.computeIfAbsent(t.to(), acc -> { accounts.add(acc); return accounts.size() - 1; });
+    }
+    // Ventanas de transferencias consecutivas; dentro de cada una, grupos por componente conexo (union-find).
+    // La ventana se cierra antes de que un grupo pase de MAX_GROUP: así nunca aparece un componente gigante.
+    int m = accounts.size();
+    int[] parent = new int[m], size = new int[m], stamp = new int[m], gidStamp = new int[m], gid = new int[m];
+    Arrays.fill(stamp, -1); Arrays.fill(gidStamp, -1);
+    int[] group = new int[n];
+    int[] windowGroups = new int[n + 2];
+    int windows = 0, groups = 0, lo = 0;
+    for (int i = 0; i <= n; i++) {
+      if (i < n) {
+        reset(parent, size, stamp, from[i], windows); reset(parent, size, stamp, to[i], windows);
+        int ra = find(parent, from[i]), rb = find(parent, to[i]);
+        if ((ra == rb ? size[ra] : size[ra] + size[rb]) < MAX_GROUP) { union(parent, size, ra, rb); continue; }
+      }
+      if (i == lo) continue; // fin del lote, nada pendiente
+      for (int k = lo; k < i; k++) {
+        int r = find(parent, from[k]);
+        if (gidStamp[r] != windows) { gidStamp[r] = windows; gid[r] = groups++; }
+        group[k] = gid[r];
+      }
+      windowGroups[++windows] = groups;
+      lo = i;
+      i--; // la transferencia que no cupo abre la ventana siguiente
+    }
+    int[] transferStart = offsets(groups, n, i -> group[i]);
+    int[] byGroup = fill(transferStart, n, i -> group[i]);
+    // Cuentas de cada grupo, cada una una sola vez
+    int[] accountStart = new int[groups + 1];
+    int[] accountsByGroup = new int[2 * n];
+    int[] seen = new int[m];
+    Arrays.fill(seen, -1);
+    int next = 0;
+    for (int g = 0; g < groups; g++) {
+      for (int k = transferStart[g]; k < transferStart[g + 1]; k++) {
+        int i = byGroup[k];
+        if (seen[from[i]] != g) { seen[from[i]] = g; accountsByGroup[next++] = from[i]; }
+        if (seen[to[i]] != g) { seen[to[i]] = g; accountsByGroup[next++] = to[i]; }
+      }
+      accountStart[g + 1] = next;
+    }
+    boolean[] applied = new boolean[n];
+    int total = windows;
+    pool.invoke(ForkJoinTask.adapt(() -> {
+      for (int w = 0; w < total; w++) {
+        new Batch(batch, applied, accounts, byGroup, transferStart, accountsByGroup, accountStart,
+            windowGroups[w], windowGroups[w + 1]).invoke();
+      }
+    }));
+    return new BatchResult(applied, windows, groups, next);
+  }
+  private static final int MAX_GROUP = 256;
+  private static void reset(int[] parent, int[] size, int[] stamp, int a, int window) {
+    if (stamp[a] != window) { stamp[a] = window; parent[a] = a; size[a] = 0; }
+  }
+  private static int find(int[] parent, int x) {
+    while (parent[x] != x) { parent[x] = parent[parent[x]]; x = parent[x]; }
+    return x;
+  }
+  // size cuenta transferencias por raíz; la nueva transferencia queda en el grupo unido
+  private static void union(int[] parent, int[] size, int ra, int rb) {
+    if (ra != rb) {
+      int root = Math.min(ra, rb), other = Math.max(ra, rb);
+      parent[other] = root; size[root] += size[other];
+    }
+    size[Math.min(ra, rb)]++;
+  }
+  private static int[] offsets(int groups, int count, IntUnaryOperator groupOf) {
+    int[] start = new int[groups + 1];
+    for (int i = 0; i < count; i++) start[groupOf.applyAsInt(i) + 1]++;
+    for (int g = 0; g < groups; g++) start[g + 1] += start[g];
+    return start;
+  }
+  private static int[] fill(int[] start, int count, IntUnaryOperator groupOf) {
+    int[] next = Arrays.copyOf(start, start.length - 1);
+    int[] out = new int[count];
+    for (int i = 0; i < count; i++) out[next[groupOf.applyAsInt(i)]++] = i;
+    return out;
+  }
+  // Los grupos de una ventana no comparten cuentas: se reparten entre los workers
+  private static final class Batch extends RecursiveAction {
+    private static final int SEQUENTIAL_TRANSFERS = 1024;
+    private final Transfer[] transfers; private final boolean[] applied; private final List<BankAccount> accounts;
+    private final int[] byGroup, transferStart, accountsByGroup, accountStart;
+    private final int lo, hi;
+    Batch(Transfer[] transfers, boolean[] applied, List<BankAccount> accounts, int[] byGroup, int[] transferStart,
+        int[] accountsByGroup, int[] accountStart, int lo, int hi) {
+      this.transfers = transfers; this.applied = applied; this.accounts = accounts; this.byGroup = byGroup;
+      this.transferStart = transferStart; this.accountsByGroup = accountsByGroup; this.accountStart = accountStart;
+      this.lo = lo; this.hi = hi;
+    }
+    @Override protected void compute() {
+      if (hi - lo > 1 && transferStart[hi] - transferStart[lo] > SEQUENTIAL_TRANSFERS) {
+        int mid = (lo + hi) >>> 1;
+        invokeAll(new Batch(transfers, applied, accounts, byGroup, transferStart, accountsByGroup, accountStart, lo, mid),
+            new Batch(transfers, applied, accounts, byGroup, transferStart, accountsByGroup, accountStart, mid, hi));
+        return;
+      }
+      for (int g = lo; g < hi; g++) runGroup(g);
+    }
+    private void runGroup(int g) {
+      BankAccount[] locked = new BankAccount[accountStart[g + 1] - accountStart[g]];
+      for (int k = 0; k < locked.length; k++) locked[k] = accounts.get(accountsByGroup[accountStart[g] + k]);
+      Arrays.sort(locked, Comparator.comparingLong(BankAccount::id));
+      int held = 0;
+      try {
+        for (BankAccount acc : locked) { acc.lock().lock(); held++; }
+        for (int k = transferStart[g]; k < transferStart[g + 1]; k++) {
+          int i = byGroup[k];
+          Transfer t = transfers[i];
+          applied[i] = tryWithdrawDeposit(t.from(), t.to(), t.amount());
+        }
+      } finally {
+        for (int k = held - 1; k >= 0; k--) locked[k].lock().unlock();
+      }
+    }
+  }
+  private static int optimistic(BankAccount from, BankAccount to, long amount) {
+    BankAccount first = from.id() < to.id() ? from : to;
+    BankAccount second = first == from ? to : from;
+    for (int retries = 0; ; retries++) {
+      long v1 = first.version(), v2 = second.version();
+      if (((v1 | v2) & 1) == 0) {
+        long available = from.balance();
+        if (available < amount) {
+          if (first.version() == v1 && second.version() == v2) throw new IllegalArgumentException("Insufficient funds");
+        } else if (first.tryBeginWrite(v1)) {
+          if (second == first || second.tryBeginWrite(v2)) {
+            from.withdrawInternal(amount); to.depositInternal(amount);
+            if (second != first) second.endWrite();
+            first.endWrite();
+            return retries;
+          }
+          first.abortWrite();
+        }
+      }
+      backoff(retries);
+    }
+  }
+  public static long consistentTotal(Collection<BankAccount> accounts) {
+    BankAccount[] all = accounts.toArray(new BankAccount[0]);
+    long[] versions = new long[all.length];
+    int attempt = 0;
+    retry:
+    for (;; attempt++) {
+      long total = 0;
+      for (int i = 0; i < all.length; i++) {
+        versions[i] = all[i].version();
+        if ((versions[i] & 1) != 0) { backoff(attempt); continue retry; }
+        total += all[i].balance();
+      }
+      for (int i = 0; i < all.length; i++) if (all[i].version() != versions[i]) continue retry;
+      return total;
+    }
+  }
+  static void backoff(int attempt) { if ((attempt & 63) == 63) Thread.yield(); else Thread.onSpinWait(); }
+  static void withdrawDeposit(BankAccount from, BankAccount to, long amount) {
+    if (!tryWithdrawDeposit(from, to, amount)) throw new IllegalArgumentException("Insufficient funds");
+  }
+  private static boolean tryWithdrawDeposit(BankAccount from, BankAccount to, long amount) {
+    from.beginWrite();
+    if (to != from) to.beginWrite();
+    boolean ok = from.balance() >= amount;
+    if (ok) { from.withdrawInternal(amount); to.depositInternal(amount); }
+    if (to != from) { if (ok) to.endWrite(); else to.abortWrite(); }
+    if (ok) from.endWrite(); else from.abortWrite();
+    return ok;
   }
   private static void sleepALittle() { try { Thread.sleep(5); } catch (InterruptedException ie) { Thread.currentThread().interrupt(); } }
 }
@@ -1,8 +1,12 @@
 package edu.eci.arsw.demos;
 
+import edu.eci.arsw.concurrency.DeadlockDetector;
+import edu.eci.arsw.concurrency.DeadlockException;
 import edu.eci.arsw.core.BankAccount;
 import edu.eci.arsw.core.TransferService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class DeadlockDemo {
   private DeadlockDemo() {}
@@ -16,4 +20,28 @@ public final class DeadlockDemo {
       Thread.sleep(30_000);
     }
   }
+  public static void runDetected() throws Exception {
+    var a = new BankAccount(1, 1000);
+    var b = new BankAccount(2, 1000);
+    var detector = new DeadlockDetector(true, TimeUnit.MILLISECONDS.toNanos(1),
+        r -> System.out.println("Deadlock: " + r));
+    var done = new LongAdder();
+    long start = System.nanoTime();
+    try (var exec = Executors.newFixedThreadPool(2)) {
+      exec.submit(() -> transferLoop(a, b, detector, done));
+      exec.submit(() -> transferLoop(b, a, detector, done));
+    }
+    double secs = (System.nanoTime() - start) / 1e9;
+    System.out.printf("DeadlockDemo (detected) finished: %d transfers in %.2f s, %d deadlocks broken, total=%d%n",
+        done.sum(), secs, detector.aborted(), a.balance() + b.balance());
+  }
+  private static void transferLoop(BankAccount from, BankAccount to, DeadlockDetector detector, LongAdder done) {
+    for (int i = 0; i < 50; i++) {
+      while (true) {
+        try { TransferService.transferNaive(from, to, 1, detector); done.increment(); break; }
+        catch (DeadlockException e) { /* víctima: reintentar */ }
+        catch (InterruptedException e) { Thread.currentThread().interrupt(); return; }
+      }
+    }
+  }
 }
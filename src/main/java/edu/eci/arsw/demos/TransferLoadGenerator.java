@@ -0,0 +1,210 @@
+package edu.eci.arsw.demos;
+
+import edu.eci.arsw.concurrency.DeadlockDetector;
+import edu.eci.arsw.concurrency.DeadlockException;
+import edu.eci.arsw.core.AdaptiveTransfer;
+import edu.eci.arsw.core.BankAccount;
+import edu.eci.arsw.core.TransferService;
+import edu.eci.arsw.metrics.LatencyHistogram;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public final class TransferLoadGenerator {
+  public static final List<String> STRATEGIES = List.of("ordered", "trylock", "optimistic", "adaptive", "naive-detect");
+
+  public record Options(int accounts, long balance, String distribution, double zipfExponent, List<String> strategies,
+      int threads, boolean virtualThreads, double ratePerSecond, Duration duration, Duration timeout, long seed) {
+    public Options {
+      if (accounts < 2) throw new IllegalArgumentException("accounts must be >= 2");
+      if (!distribution.equals("uniform") && !distribution.equals("zipf")) throw new IllegalArgumentException("Unknown distribution: " + distribution);
+      for (String s : strategies) if (!STRATEGIES.contains(s)) throw new IllegalArgumentException("Unknown strategy: " + s);
+      strategies = List.copyOf(strategies);
+    }
+    public boolean openLoop() { return ratePerSecond > 0; }
+    public static Options fromSystemProperties() {
+      return new Options(
+          Integer.getInteger("accounts", 1_000),
+          Long.getLong("balance", 1_000_000),
+          System.getProperty("dist", "zipf"),
+          Double.parseDouble(System.getProperty("zipf", "1.0")),
+          Arrays.stream(System.getProperty("strategies", String.join(",", STRATEGIES)).split(",")).map(String::trim).toList(),
+          Integer.getInteger("threads", 64),
+          Boolean.parseBoolean(System.getProperty("virtual", "true")),
+          Double.parseDouble(System.getProperty("rate", "0")),
+          Duration.ofMillis(Long.getLong("duration", 5_000)),
+          Duration.ofMillis(Long.getLong("timeout", 100)),
+          Long.getLong("seed", 42));
+    }
+  }
+
+  public record Result(String strategy, long attempted, long completed, long insufficient, long timeouts, long retries,
+      long fallbacks, double seconds, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos, boolean conserved) {
+    public double throughput() { return completed / seconds; }
+    public double timeoutRate() { return attempted == 0 ? 0 : (double) timeouts / attempted; }
+    public double retriesPerTransfer() { return completed == 0 ? 0 : (double) retries / completed; }
+    public double fallbackRate() { return completed == 0 ? 0 : (double) fallbacks / completed; }
+  }
+
+  private TransferLoadGenerator() {}
+
+  public static void run() throws InterruptedException {
+    Options o = Options.fromSystemProperties();
+    System.out.printf(Locale.ROOT, "Transfer load: %d accounts, %s%s, %d %s threads, %s, %d ms per strategy%n",
+        o.accounts(), o.distribution(), o.distribution().equals("zipf") ? " s=" + o.zipfExponent() : "",
+        o.threads(), o.virtualThreads() ? "virtual" : "platform",
+        o.openLoop() ? String.format(Locale.ROOT, "open loop at %.0f/s", o.ratePerSecond()) : "closed loop",
+        o.duration().toMillis());
+    System.out.printf("%-13s %12s %10s %10s %10s %10s %9s %9s %10s %8s%n",
+        "strategy", "transfers/s", "p50 us", "p99 us", "p99.9 us", "max us", "retry/tx", "timeout%", "fallback%", "money");
+    for (String s : o.strategies()) {
+      Result r = run(o, s);
+      System.out.printf(Locale.ROOT, "%-13s %12.0f %10.1f %10.1f %10.1f %10.1f %9.3f %8.2f%% %9.2f%% %8s%n",
+          r.strategy(), r.throughput(), r.p50Nanos() / 1e3, r.p99Nanos() / 1e3, r.p999Nanos() / 1e3,
+          r.maxNanos() / 1e3, r.retriesPerTransfer(), r.timeoutRate() * 100, r.fallbackRate() * 100,
+          r.conserved() ? "ok" : "LOST");
+    }
+  }
+
+  public static List<Result> runAll(Options o) throws InterruptedException {
+    List<Result> results = new ArrayList<>();
+    for (String s : o.strategies()) results.add(run(o, s));
+    return results;
+  }
+
+  public static Result run(Options o, String strategy) throws InterruptedException {
+    BankAccount[] accounts = new BankAccount[o.accounts()];
+    for (int i = 0; i < accounts.length; i++) accounts[i] = new BankAccount(i, o.balance());
+    var load = new Load(o, strategy, accounts);
+    long start = System.nanoTime();
+    if (o.openLoop()) load.openLoop(start); else load.closedLoop(start);
+    double seconds = (System.nanoTime() - start) / 1e9;
+    long total = 0;
+    for (BankAccount acc : accounts) total += acc.balance();
+    LatencyHistogram h = load.latency;
+    return new Result(strategy, load.attempted.sum(), h.count(), load.insufficient.sum(), load.timeouts.sum(),
+        load.retries.sum(), load.adaptive.fallbacks(), seconds,
+        h.percentile(0.50), h.percentile(0.99), h.percentile(0.999), h.max(),
+        total == o.balance() * accounts.length);
+  }
+
+  static int[] zipfSample(int accounts, double exponent, long seed, int samples) {
+    var picker = new Picker("zipf", accounts, exponent);
+    var rnd = new SplittableRandom(seed);
+    int[] out = new int[samples];
+    for (int i = 0; i < samples; i++) out[i] = picker.next(rnd);
+    return out;
+  }
+
+  private static final class Picker {
+    private final int n;
+    private final double[] cdf;
+    Picker(String distribution, int n, double exponent) {
+      this.n = n;
+      if (!distribution.equals("zipf")) { cdf = null; return; }
+      cdf = new double[n];
+      double sum = 0;
+      for (int k = 0; k < n; k++) { sum += 1 / Math.pow(k + 1, exponent); cdf[k] = sum; }
+      for (int k = 0; k < n; k++) cdf[k] /= sum;
+    }
+    int next(SplittableRandom rnd) {
+      if (cdf == null) return rnd.nextInt(n);
+      int i = Arrays.binarySearch(cdf, rnd.nextDouble());
+      return Math.min(n - 1, i >= 0 ? i : -i - 1);
+    }
+  }
+
+  private static final class Load {
+    final Options o; final String strategy; final BankAccount[] accounts; final Picker picker;
+    final AdaptiveTransfer adaptive = new AdaptiveTransfer();
+    final DeadlockDetector detector = new DeadlockDetector(true, TimeUnit.MILLISECONDS.toNanos(1), r -> {});
+    final LatencyHistogram latency = new LatencyHistogram();
+    final LongAdder attempted = new LongAdder(), insufficient = new LongAdder(), timeouts = new LongAdder(), retries = new LongAdder();
+    Load(Options o, String strategy, BankAccount[] accounts) {
+      this.o = o; this.strategy = strategy; this.accounts = accounts;
+      this.picker = new Picker(o.distribution(), accounts.length, o.zipfExponent());
+    }
+    ExecutorService executor() {
+      return o.virtualThreads() ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(o.threads());
+    }
+    void closedLoop(long start) {
+      long end = start + o.duration().toNanos();
+      var root = new SplittableRandom(o.seed());
+      try (var exec = executor()) {
+        for (int t = 0; t < o.threads(); t++) {
+          var rnd = root.split();
+          exec.submit(() -> {
+            while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+              int from = picker.next(rnd), to = pickOther(rnd, from);
+              long amount = 1 + rnd.nextInt(10);
+              long t0 = System.nanoTime();
+              if (transfer(accounts[from], accounts[to], amount)) latency.record(System.nanoTime() - t0);
+            }
+          });
+        }
+      }
+    }
+    // Lazo abierto: las llegadas siguen el reloj aunque el sistema se atrase; la latencia se mide desde la llegada
+    // programada, así que incluye la cola (sin "coordinated omission").
+    void openLoop(long start) {
+      long interval = Math.max(1, (long) (1e9 / o.ratePerSecond()));
+      long arrivals = o.duration().toNanos() / interval;
+      var rnd = new SplittableRandom(o.seed());
+      try (var exec = executor()) {
+        for (long k = 0; k < arrivals; k++) {
+          long due = start + k * interval;
+          long wait = due - System.nanoTime();
+          if (wait > 0) LockSupport.parkNanos(wait);
+          int from = picker.next(rnd), to = pickOther(rnd, from);
+          long amount = 1 + rnd.nextInt(10);
+          exec.submit(() -> { if (transfer(accounts[from], accounts[to], amount)) latency.record(System.nanoTime() - due); });
+        }
+      }
+    }
+    int pickOther(SplittableRandom rnd, int from) {
+      int to;
+      do to = picker.next(rnd); while (to == from);
+      return to;
+    }
+    boolean transfer(BankAccount from, BankAccount to, long amount) {
+      attempted.increment();
+      long t0 = System.nanoTime();
+      try {
+        switch (strategy) {
+          case "ordered" -> TransferService.transferOrdered(from, to, amount);
+          case "trylock" -> retries.add(TransferService.transferTryLock(from, to, amount, o.timeout()));
+          case "optimistic" -> retries.add(TransferService.transferOptimistic(from, to, amount));
+          case "adaptive" -> retries.add(adaptive.transfer(from, to, amount));
+          case "naive-detect" -> { if (!naiveDetected(from, to, amount)) { timeouts.increment(); return false; } }
+          default -> throw new IllegalStateException(strategy);
+        }
+        return true;
+      } catch (IllegalArgumentException e) {
+        insufficient.increment();
+        return false;
+      } catch (InterruptedException e) {
+        // transferTryLock señala el timeout con InterruptedException sin interrumpir; antes del plazo es una
+        // interrupción real: se restaura la marca y el worker termina
+        if (System.nanoTime() - t0 >= o.timeout().toNanos()) timeouts.increment();
+        else Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+    private boolean naiveDetected(BankAccount from, BankAccount to, long amount) throws InterruptedException {
+      long deadline = System.nanoTime() + o.timeout().toNanos();
+      do {
+        try { TransferService.transferNaive(from, to, amount, detector); return true; }
+        catch (DeadlockException victim) { retries.increment(); }
+      } while (System.nanoTime() < deadline);
+      return false;
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package edu.eci.arsw.distributed;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Controla una simulación repartida en shards (ver {@link ShardNode}) con
+ * una conexión de control por shard. Extiende a varios procesos el contrato
+ * de PauseController: {@link #pause()} retorna cuando todos los shards
+ * llegaron a su safepoint y, como un atacante no se detiene hasta tener la
+ * respuesta de su golpe remoto, en ese momento no queda ningún golpe en
+ * vuelo y los totales de todos los shards son de un mismo instante.
+ *
+ * Cada orden se envía a todos los shards antes de esperar respuestas, así
+ * que las pausas locales ocurren en paralelo.
+ */
+public final class Coordinator implements AutoCloseable {
+
+    private final List<InetSocketAddress> addresses;
+    private final List<Link> nodes = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock(); // una orden a la vez; puede correr en un hilo virtual
+    private long requests;
+    private volatile long epoch;
+    private volatile long lastTimeToSafepointNanos;
+
+    private Coordinator(List<InetSocketAddress> addresses) {
+        this.addresses = List.copyOf(addresses);
+    }
+
+    /**
+     * Se conecta con los shards ({@code addresses} indexada por shard) y les
+     * pasa las direcciones de los demás para que se conecten entre sí; no
+     * arranca la simulación.
+     */
+    public static Coordinator connect(List<InetSocketAddress> addresses) throws IOException {
+        var c = new Coordinator(addresses);
+        try {
+            for (InetSocketAddress a : c.addresses) {
+                SocketChannel ch = SocketChannel.open(a);
+                ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Link link = new Link(ch);
+                link.send(new Wire.Hello(-1));
+                c.nodes.add(link);
+            }
+            c.broadcast(r -> new Wire.Peers(r, c.addresses));
+        } catch (IOException | RuntimeException e) {
+            c.close();
+            throw e;
+        }
+        return c;
+    }
+
+    public int shards() {
+        return nodes.size();
+    }
+
+    public List<ShardStatus> start() throws IOException {
+        return broadcast(Wire.Op.START);
+    }
+
+    /**
+     * Pausa global: bloquea hasta que todos los shards estén detenidos.
+     *
+     * @return el tiempo hasta el safepoint global en nanosegundos; 0 si ya
+     * estaba en pausa.
+     */
+    public long pause() throws IOException {
+        lock.lock();
+        try {
+            if (paused()) {
+                return 0;
+            }
+            long start = System.nanoTime();
+            broadcast(Wire.Op.PAUSE);
+            lastTimeToSafepointNanos = System.nanoTime() - start;
+            epoch++;
+            return lastTimeToSafepointNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void resume() throws IOException {
+        lock.lock();
+        try {
+            if (paused()) {
+                broadcast(Wire.Op.RESUME);
+                epoch++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean paused() {
+        return (epoch & 1) != 0;
+    }
+
+    /**
+     * Número de pausas/reanudaciones globales; impar mientras está en pausa.
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    public long lastTimeToSafepointNanos() {
+        return lastTimeToSafepointNanos;
+    }
+
+    /**
+     * Estado de cada shard. Solo se puede sumar entre shards con la
+     * simulación en pausa (o detenida).
+     */
+    public List<ShardStatus> status() throws IOException {
+        return broadcast(Wire.Op.STATUS);
+    }
+
+    /**
+     * Vivos en todos los shards.
+     */
+    public int aliveCount() throws IOException {
+        int alive = 0;
+        for (ShardStatus s : status()) {
+            alive += s.alive();
+        }
+        return alive;
+    }
+
+    /**
+     * Salud total de todos los shards; exacta con la simulación en pausa.
+     */
+    public long totalHealth() throws IOException {
+        long total = 0;
+        for (ShardStatus s : status()) {
+            total += s.totalHealth();
+        }
+        return total;
+    }
+
+    /**
+     * Pausa global y luego detiene todos los shards; el estado retornado es
+     * el final.
+     */
+    public List<ShardStatus> stop() throws IOException {
+        lock.lock();
+        try {
+            pause();
+            return broadcast(Wire.Op.STOP);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<ShardStatus> broadcast(Wire.Op op) throws IOException {
+        return broadcast(r -> new Wire.Control(r, op));
+    }
+
+    private interface Request {
+        Wire.Message create(long request);
+    }
+
+    private List<ShardStatus> broadcast(Request request) throws IOException {
+        lock.lock();
+        try {
+            return send(request);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<ShardStatus> send(Request request) throws IOException {
+        long[] ids = new long[nodes.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ++requests;
+            Link link = nodes.get(i);
+            link.send(request.create(ids[i]));
+            link.flush(-1); // canal bloqueante: escribe todo
+        }
+        List<ShardStatus> result = new ArrayList<>(ids.length);
+        List<Wire.Message> inbox = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            result.add(await(nodes.get(i), ids[i], inbox));
+        }
+        return result;
+    }
+
+    private static ShardStatus await(Link link, long id, List<Wire.Message> inbox) throws IOException {
+        while (true) {
+            link.read(inbox);
+            for (Wire.Message m : inbox) {
+                if (m instanceof Wire.Status s && s.request() == id) {
+                    inbox.clear();
+                    return s.status();
+                }
+            }
+            inbox.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            nodes.forEach(Link::close);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package edu.eci.arsw.distributed;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.eci.arsw.concurrency.MpscQueue;
+import edu.eci.arsw.immortals.RemoteOpponents;
+
+/**
+ * Una conexión con otro shard o con el coordinador. Cualquier hilo encola
+ * mensajes con {@link #send}; solo un hilo (el de E/S del shard, o el del
+ * coordinador) llama a {@link #flush} y {@link #read}, que arman y desarman
+ * los frames en buffers propios sin copias intermedias.
+ */
+final class Link {
+
+    final SocketChannel channel;
+    // Golpes enviados por esta conexión que esperan respuesta, por id de petición
+    final ConcurrentHashMap<Long, CompletableFuture<RemoteOpponents.Strike>> pending = new ConcurrentHashMap<>();
+    volatile int peer = -1; // shard del otro extremo; -1 mientras no llegue su Hello o si es el coordinador
+    volatile boolean closed;
+
+    private final MpscQueue<Wire.Message> queue = new MpscQueue<>();
+    private final ByteBuffer in = ByteBuffer.allocate(Wire.MAX_FRAME);
+    private final ByteBuffer out = ByteBuffer.allocate(Wire.MAX_FRAME).limit(0);
+    private final int[] alive = new int[1];
+    private Wire.Message carry; // no cupo en el último frame
+    private volatile long framesSent; // un solo escritor
+    private volatile long messagesSent;
+
+    Link(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    Link(SocketChannel channel, int peer) {
+        this.channel = channel;
+        this.peer = peer;
+    }
+
+    void send(Wire.Message m) {
+        queue.offer(m);
+    }
+
+    /**
+     * Escribe lo pendiente, armando un frame con todos los mensajes encolados
+     * que quepan. Retorna true si no quedó nada por escribir; false si el
+     * canal (no bloqueante) se llenó.
+     */
+    boolean flush(int senderAlive) throws IOException {
+        while (true) {
+            if (!out.hasRemaining() && !fillFrame(senderAlive)) {
+                return true;
+            }
+            channel.write(out);
+            if (out.hasRemaining()) {
+                return false;
+            }
+        }
+    }
+
+    boolean hasOutput() {
+        return out.hasRemaining() || carry != null || !queue.isEmpty();
+    }
+
+    private boolean fillFrame(int senderAlive) {
+        out.clear().position(Wire.HEADER);
+        int n = 0;
+        while (true) {
+            Wire.Message m = carry != null ? carry : queue.poll();
+            if (m == null) {
+                break;
+            }
+            if (Wire.size(m) > out.remaining()) {
+                carry = m;
+                break;
+            }
+            carry = null;
+            Wire.put(m, out);
+            n++;
+        }
+        if (n == 0) {
+            out.position(0).limit(0);
+            return false;
+        }
+        Wire.endFrame(out, senderAlive);
+        framesSent++;
+        messagesSent += n;
+        return true;
+    }
+
+    /**
+     * Lee lo disponible y agrega a {@code into} los mensajes de los frames
+     * completos.
+     *
+     * @return los vivos que reportó el emisor en el último frame completo, o
+     * -1 si no se completó ninguno.
+     * @throws EOFException si el otro extremo cerró la conexión.
+     */
+    int read(List<Wire.Message> into) throws IOException {
+        if (channel.read(in) < 0) {
+            throw new EOFException("Connection closed by peer " + peer);
+        }
+        in.flip();
+        int senderAlive = -1;
+        int end;
+        while ((end = Wire.nextFrame(in, alive)) >= 0) {
+            senderAlive = alive[0];
+            while (in.position() < end) {
+                into.add(Wire.get(in));
+            }
+        }
+        in.compact();
+        return senderAlive;
+    }
+
+    long framesSent() {
+        return framesSent;
+    }
+
+    long messagesSent() {
+        return messagesSent;
+    }
+
+    /**
+     * Cierra el canal y libera a quienes esperaban respuesta por él (su golpe
+     * cuenta como sin rival).
+     */
+    void close() {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // ya no hay nada que hacer con este canal
+        }
+        pending.values().forEach(f -> f.complete(null));
+        pending.clear();
+    }
+}
@@ -0,0 +1,528 @@
+package edu.eci.arsw.distributed;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.eci.arsw.concurrency.MpscQueue;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.Pacer;
+import edu.eci.arsw.immortals.RemoteOpponents;
+import edu.eci.arsw.immortals.SplitMix64;
+
+/**
+ * Un proceso (o, en pruebas, un objeto) que aloja un shard de la población:
+ * los ids globales {@code [offset, offset + size)} en un ImmortalManager
+ * propio. Las peleas locales son las de siempre; con probabilidad
+ * {@code crossShardRate} (o siempre, si ya no le quedan rivales locales) un
+ * inmortal golpea a otro shard con una petición/respuesta (ver
+ * {@link RemoteOpponents}).
+ *
+ * Toda la red la maneja un único hilo de E/S con un Selector y canales no
+ * bloqueantes: los hilos de pelea solo encolan su petición y esperan la
+ * respuesta, y el hilo de E/S agrupa en un frame todo lo encolado para cada
+ * conexión. Los golpes que llegan se aplican en ese mismo hilo bajo el lock
+ * del defensor; las órdenes del coordinador (que pueden bloquear, como la
+ * pausa) corren en un hilo virtual aparte.
+ */
+public final class ShardNode implements RemoteOpponents, AutoCloseable {
+
+    /**
+     * Configuración de un shard. La población global se reparte en rangos
+     * contiguos de tamaño casi igual; cada shard deriva su semilla de
+     * {@code seed} y de su número.
+     */
+    public record Config(int shard, int shards, int population, String fight, int health, int damage, long seed,
+            double crossShardRate, String pace) {
+
+        public Config {
+            if (shards < 1 || shard < 0 || shard >= shards) {
+                throw new IllegalArgumentException("shard must be in [0, shards)");
+            }
+            if (population < shards) {
+                throw new IllegalArgumentException("population must be >= shards");
+            }
+            if (!(crossShardRate >= 0 && crossShardRate <= 1)) {
+                throw new IllegalArgumentException("crossShardRate must be in [0, 1]");
+            }
+        }
+
+        /**
+         * Lee -Dshard, -Dshards, -Dcount (población global), -Dfight,
+         * -Dhealth, -Ddamage, -Dseed, -DcrossShard y -Dpace.
+         */
+        public static Config fromSystemProperties() {
+            return new Config(
+                    Integer.getInteger("shard", 0),
+                    Integer.getInteger("shards", 2),
+                    Integer.getInteger("count", 1_000),
+                    System.getProperty("fight", "ordered"),
+                    Integer.getInteger("health", 100),
+                    Integer.getInteger("damage", 10),
+                    Long.getLong("seed", 42),
+                    Double.parseDouble(System.getProperty("crossShard", "0.05")),
+                    System.getProperty("pace", "sleep"));
+        }
+
+        public int offset(int s) {
+            return (int) ((long) population * s / shards);
+        }
+
+        public int size(int s) {
+            return offset(s + 1) - offset(s);
+        }
+    }
+
+    private final Config config;
+    private final int offset;
+    private final ImmortalManager manager;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final List<Link> links = new CopyOnWriteArrayList<>();
+    private final MpscQueue<Link> toRegister = new MpscQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final AtomicIntegerArray peerAlive; // último valor conocido, por shard
+    private final AtomicLong requests = new AtomicLong();
+    private final LongAdder remoteStrikes = new LongAdder();
+    private final LongAdder remoteDefends = new LongAdder();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final ReentrantLock lifecycle = new ReentrantLock();
+    private final Thread io;
+    private volatile Link[] peers = new Link[0];
+    private volatile boolean started;
+    private volatile boolean closing;
+    private volatile long timeToSafepointNanos;
+
+    /**
+     * Crea el shard y abre su puerto en loopback ({@code port} 0 para uno
+     * libre). No se conecta con nadie hasta {@link #connectPeers}.
+     */
+    public ShardNode(Config config, int port) throws IOException {
+        this.config = config;
+        this.offset = config.offset(config.shard());
+        this.manager = new ImmortalManager(config.size(config.shard()), FightStrategy.of(config.fight()),
+                config.health(), config.damage(), SplitMix64.seedFor(config.seed(), config.shard()));
+        manager.pace(Pacer.of(config.pace()));
+        manager.connect(this);
+        this.peerAlive = new AtomicIntegerArray(config.shards());
+        for (int s = 0; s < config.shards(); s++) {
+            peerAlive.set(s, s == config.shard() || config.health() <= 0 ? 0 : config.size(s));
+        }
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        this.io = Thread.ofPlatform().daemon().name("shard-" + config.shard() + "-io").start(this::loop);
+    }
+
+    public InetSocketAddress address() throws IOException {
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    public Config config() {
+        return config;
+    }
+
+    /**
+     * La población local (ids locales; el global es {@code offset + id}).
+     */
+    public ImmortalManager manager() {
+        return manager;
+    }
+
+    /**
+     * Abre una conexión con cada uno de los demás shards; {@code addresses}
+     * está indexada por shard. Solo antes de arrancar.
+     */
+    public void connectPeers(List<InetSocketAddress> addresses) throws IOException {
+        if (addresses.size() != config.shards()) {
+            throw new IllegalArgumentException("Expected " + config.shards() + " addresses, got " + addresses.size());
+        }
+        Link[] connected = new Link[config.shards()];
+        for (int s = 0; s < connected.length; s++) {
+            if (s == config.shard()) {
+                continue;
+            }
+            SocketChannel ch = SocketChannel.open(addresses.get(s));
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            ch.configureBlocking(false);
+            Link link = new Link(ch, s);
+            link.send(new Wire.Hello(config.shard()));
+            connected[s] = link;
+            register(link);
+        }
+        peers = connected;
+    }
+
+    public void start() {
+        lifecycle.lock();
+        try {
+            if (!started) {
+                started = true;
+                manager.start();
+            }
+        } finally {
+            lifecycle.unlock();
+        }
+    }
+
+    /**
+     * Pausa local; retorna el tiempo hasta el safepoint. Los golpes que
+     * llegan de otros shards se siguen atendiendo (sus atacantes esperan la
+     * respuesta para poder detenerse).
+     */
+    public long pause() {
+        lifecycle.lock(); // no synchronized: el hilo virtual fijaría su carrier mientras espera
+        try {
+            if (!started) {
+                return 0;
+            }
+            long start = System.nanoTime();
+            manager.pause();
+            timeToSafepointNanos = System.nanoTime() - start;
+            return timeToSafepointNanos;
+        } finally {
+            lifecycle.unlock();
+        }
+    }
+
+    public void resume() {
+        lifecycle.lock();
+        try {
+            if (started) {
+                manager.resume();
+            }
+        } finally {
+            lifecycle.unlock();
+        }
+    }
+
+    public void stop() {
+        lifecycle.lock();
+        try {
+            manager.stop();
+        } finally {
+            lifecycle.unlock();
+        }
+    }
+
+    /**
+     * Bloquea hasta que el coordinador detenga el shard (ya respondida su
+     * orden STOP) o hasta que se cierre.
+     */
+    public boolean awaitStop(long timeout, TimeUnit unit) throws InterruptedException {
+        return stopped.await(timeout, unit);
+    }
+
+    public ShardStatus status() {
+        long frames = 0;
+        long messages = 0;
+        for (Link l : links) {
+            frames += l.framesSent();
+            messages += l.messagesSent();
+        }
+        var score = manager.scoreBoard();
+        return new ShardStatus(config.shard(), manager.size(), manager.aliveCount(), manager.totalHealth(),
+                score.totalFights(), score.totalKills(), remoteStrikes.sum(), remoteDefends.sum(), frames, messages,
+                manager.controller().paused(), timeToSafepointNanos);
+    }
+
+    @Override
+    public double challengeRate() {
+        return config.crossShardRate();
+    }
+
+    @Override
+    public Strike strike(int attacker, int damage, long pick) throws InterruptedException {
+        Link link = pickPeer(pick);
+        if (link == null) {
+            return null;
+        }
+        long request = requests.incrementAndGet();
+        var result = new CompletableFuture<Strike>();
+        link.pending.put(request, result);
+        if (link.closed) { // close() pudo vaciar pending antes de que entrara esta petición
+            link.pending.remove(request);
+            return null;
+        }
+        send(link, new Wire.Strike(request, offset + attacker, damage, pick));
+        try {
+            Strike s = result.get();
+            if (s != null) {
+                remoteStrikes.increment();
+            }
+            return s;
+        } catch (InterruptedException e) {
+            link.pending.remove(request);
+            throw e;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /*
+     * Shard destino entre los que todavía reportan vivos, uniforme con los
+     * bits altos de pick (los bajos los usa el destino para elegir defensor).
+     */
+    private Link pickPeer(long pick) {
+        Link[] p = peers;
+        int candidates = 0;
+        for (int s = 0; s < p.length; s++) {
+            if (p[s] != null && peerAlive.get(s) > 0) {
+                candidates++;
+            }
+        }
+        if (candidates == 0) {
+            return null;
+        }
+        int r = (int) (((pick >>> 32) * candidates) >>> 32);
+        for (int s = 0; s < p.length; s++) {
+            if (p[s] != null && peerAlive.get(s) > 0 && r-- == 0) {
+                return p[s];
+            }
+        }
+        return null;
+    }
+
+    private void send(Link link, Wire.Message m) {
+        link.send(m);
+        if (wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup(); // una sola vez por vuelta del hilo de E/S: el resto va en el mismo lote
+        }
+    }
+
+    private void register(Link link) {
+        links.add(link);
+        toRegister.offer(link);
+        selector.wakeup();
+    }
+
+    /*
+     * Hilo de E/S: acepta conexiones, lee y atiende frames y escribe los
+     * lotes pendientes. Al cerrar, sigue escribiendo hasta un segundo para
+     * que salgan las últimas respuestas (por ejemplo la de STOP).
+     */
+    private void loop() {
+        List<Wire.Message> inbox = new ArrayList<>();
+        long drainDeadline = Long.MAX_VALUE;
+        try {
+            while (true) {
+                if (closing) {
+                    if (drainDeadline == Long.MAX_VALUE) {
+                        drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+                    }
+                    if (!hasOutput() || System.nanoTime() > drainDeadline) {
+                        break;
+                    }
+                    selector.select(10);
+                } else {
+                    selector.select();
+                }
+                wakeupPending.set(false);
+                Link l;
+                while ((l = toRegister.poll()) != null) {
+                    try {
+                        l.channel.register(selector, SelectionKey.OP_READ, l);
+                    } catch (IOException e) {
+                        drop(l);
+                    }
+                }
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        read((Link) key.attachment(), inbox);
+                    }
+                }
+                selector.selectedKeys().clear();
+                int alive = manager.stats().aliveCount();
+                for (Link link : links) {
+                    flush(link, alive);
+                }
+            }
+        } catch (IOException e) {
+            if (!closing) {
+                throw new UncheckedIOException(e);
+            }
+        } finally {
+            links.forEach(Link::close);
+        }
+    }
+
+    private boolean hasOutput() {
+        for (Link link : links) {
+            if (!link.closed && link.hasOutput()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void accept() throws IOException {
+        SocketChannel ch = server.accept();
+        if (ch == null) {
+            return;
+        }
+        ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        ch.configureBlocking(false);
+        Link link = new Link(ch);
+        links.add(link);
+        ch.register(selector, SelectionKey.OP_READ, link);
+    }
+
+    private void flush(Link link, int alive) {
+        if (link.closed) {
+            return;
+        }
+        try {
+            boolean done = link.flush(alive);
+            SelectionKey key = link.channel.keyFor(selector);
+            if (key != null && key.isValid()) {
+                key.interestOps(done ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        } catch (IOException e) {
+            drop(link);
+        }
+    }
+
+    private void read(Link link, List<Wire.Message> inbox) {
+        int senderAlive;
+        try {
+            senderAlive = link.read(inbox);
+        } catch (IOException e) {
+            drop(link);
+            return;
+        }
+        for (Wire.Message m : inbox) {
+            handle(link, m);
+        }
+        inbox.clear();
+        int p = link.peer;
+        if (senderAlive >= 0 && p >= 0) {
+            peerAlive.set(p, senderAlive);
+        }
+    }
+
+    private void drop(Link link) {
+        links.remove(link);
+        link.close();
+        int p = link.peer;
+        if (p >= 0 && peers.length > p && peers[p] == link) {
+            peerAlive.set(p, 0); // sin conexión no se le puede pedir pelea
+        }
+    }
+
+    private void handle(Link link, Wire.Message m) {
+        switch (m) {
+            case Wire.Hello h ->
+                link.peer = h.shard();
+            case Wire.Strike s -> {
+                Strike r = manager.defend(s.damage(), s.pick());
+                remoteDefends.increment();
+                link.send(r == null
+                        ? new Wire.Result(s.request(), -1, 0, false)
+                        : new Wire.Result(s.request(), offset + r.defender(), r.dealt(), r.killed()));
+            }
+            case Wire.Result r -> {
+                CompletableFuture<Strike> waiting = link.pending.remove(r.request());
+                if (waiting != null) {
+                    waiting.complete(r.defender() < 0 ? null : new Strike(r.defender(), r.dealt(), r.killed()));
+                }
+            }
+            case Wire.Control c ->
+                Thread.ofVirtual().name("shard-" + config.shard() + "-" + c.op()).start(() -> control(link, c));
+            case Wire.Peers p ->
+                Thread.ofVirtual().name("shard-" + config.shard() + "-peers").start(() -> {
+                    try {
+                        connectPeers(p.addresses());
+                    } catch (IOException e) {
+                        drop(link); // el coordinador lo verá como conexión cerrada
+                        return;
+                    }
+                    send(link, new Wire.Status(p.request(), status()));
+                });
+            case Wire.Status s -> {
+                // solo el coordinador recibe estados
+            }
+        }
+    }
+
+    private void control(Link link, Wire.Control c) {
+        switch (c.op()) {
+            case START ->
+                start();
+            case PAUSE ->
+                pause();
+            case RESUME ->
+                resume();
+            case STOP ->
+                stop();
+            case STATUS -> {
+            }
+        }
+        send(link, new Wire.Status(c.request(), status()));
+        if (c.op() == Wire.Op.STOP) {
+            stopped.countDown(); // después de encolar la respuesta: close() la alcanza a escribir
+        }
+    }
+
+    /**
+     * Detiene la simulación local y cierra todas las conexiones.
+     */
+    @Override
+    public void close() {
+        stop();
+        stopped.countDown();
+        closing = true;
+        selector.wakeup();
+        try {
+            io.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            server.close();
+            selector.close();
+        } catch (IOException ignored) {
+            // cerrando de todas formas
+        }
+    }
+
+    /**
+     * Punto de entrada de un proceso shard: abre su puerto (-Dport, 0 por
+     * defecto), lo anuncia en la salida estándar como
+     * {@code shard <n> listening on <puerto>} y espera las órdenes del
+     * coordinador hasta STOP.
+     */
+    public static void main(String[] args) throws Exception {
+        Config config = Config.fromSystemProperties();
+        try (var node = new ShardNode(config, Integer.getInteger("port", 0))) {
+            System.out.println("shard " + config.shard() + " listening on " + node.address().getPort());
+            System.out.flush();
+            node.awaitStop(Long.MAX_VALUE, TimeUnit.DAYS);
+        }
+    }
+}
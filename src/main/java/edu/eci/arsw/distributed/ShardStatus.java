@@ -0,0 +1,24 @@
+package edu.eci.arsw.distributed;
+
+/**
+ * Estado de un shard tal como lo reporta al coordinador. Con la simulación
+ * global en pausa (ver {@link Coordinator#pause()}) los agregados de todos
+ * los shards son de un mismo instante y se pueden sumar.
+ *
+ * @param remoteStrikes golpes que sus inmortales dieron en otros shards.
+ * @param remoteDefends golpes que recibió de otros shards.
+ * @param framesSent frames enviados a otros shards; cada frame es un lote.
+ * @param messagesSent mensajes (peticiones y respuestas) en esos frames.
+ * @param timeToSafepointNanos lo que tardó su última pausa local.
+ */
+public record ShardStatus(int shard, int size, int alive, long totalHealth, long fights, long kills,
+        long remoteStrikes, long remoteDefends, long framesSent, long messagesSent, boolean paused,
+        long timeToSafepointNanos) {
+
+    /**
+     * Mensajes por frame: cuánto se agrupan los golpes entre shards.
+     */
+    public double batching() {
+        return framesSent == 0 ? 0 : (double) messagesSent / framesSent;
+    }
+}
@@ -0,0 +1,203 @@
+package edu.eci.arsw.distributed;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protocolo binario entre shards y coordinador. Todo viaja en frames:
+ * {@code [int largo][int vivos del emisor][mensaje]*}. Un frame agrupa todos
+ * los mensajes que estaban encolados para la misma conexión cuando el hilo
+ * de E/S pudo escribir, así que con carga los golpes remotos viajan en lotes.
+ * Los vivos del emisor van en cada frame para que los demás dejen de elegir
+ * shards sin sobrevivientes sin pedírselo.
+ */
+final class Wire {
+
+    static final int HEADER = 8;
+    static final int MAX_FRAME = 64 * 1024;
+
+    private static final byte HELLO = 1;
+    private static final byte STRIKE = 2;
+    private static final byte RESULT = 3;
+    private static final byte CONTROL = 4;
+    private static final byte STATUS = 5;
+    private static final byte PEERS = 6;
+
+    /**
+     * Operaciones del coordinador; cada una responde con el {@link Status}
+     * del shard.
+     */
+    enum Op {
+        START, PAUSE, RESUME, STATUS, STOP
+    }
+
+    sealed interface Message {
+    }
+
+    /**
+     * Primer mensaje de cada conexión: quién la abrió (-1 el coordinador).
+     */
+    record Hello(int shard) implements Message {
+    }
+
+    record Strike(long request, int attacker, int damage, long pick) implements Message {
+    }
+
+    /**
+     * Respuesta a un {@link Strike}; {@code defender} es -1 si el shard ya no
+     * tenía vivos.
+     */
+    record Result(long request, int defender, int dealt, boolean killed) implements Message {
+    }
+
+    record Control(long request, Op op) implements Message {
+    }
+
+    record Status(long request, ShardStatus status) implements Message {
+    }
+
+    /**
+     * Direcciones de todos los shards, indexadas por shard.
+     */
+    record Peers(long request, List<InetSocketAddress> addresses) implements Message {
+    }
+
+    private Wire() {
+    }
+
+    static int size(Message m) {
+        return switch (m) {
+            case Hello h ->
+                1 + 4;
+            case Strike s ->
+                1 + 8 + 4 + 4 + 8;
+            case Result r ->
+                1 + 8 + 4 + 4 + 1;
+            case Control c ->
+                1 + 8 + 1;
+            case Status s ->
+                1 + 8 + 4 * 3 + 8 * 8 + 1;
+            case Peers p -> {
+                int size = 1 + 8 + 4;
+                for (InetSocketAddress a : p.addresses()) {
+                    size += 2 + a.getHostString().getBytes(StandardCharsets.UTF_8).length + 4;
+                }
+                yield size;
+            }
+        };
+    }
+
+    static void put(Message m, ByteBuffer b) {
+        switch (m) {
+            case Hello h -> {
+                b.put(HELLO).putInt(h.shard());
+            }
+            case Strike s -> {
+                b.put(STRIKE).putLong(s.request()).putInt(s.attacker()).putInt(s.damage()).putLong(s.pick());
+            }
+            case Result r -> {
+                b.put(RESULT).putLong(r.request()).putInt(r.defender()).putInt(r.dealt())
+                        .put((byte) (r.killed() ? 1 : 0));
+            }
+            case Control c -> {
+                b.put(CONTROL).putLong(c.request()).put((byte) c.op().ordinal());
+            }
+            case Status s -> {
+                ShardStatus st = s.status();
+                b.put(STATUS).putLong(s.request())
+                        .putInt(st.shard()).putInt(st.size()).putInt(st.alive())
+                        .putLong(st.totalHealth()).putLong(st.fights()).putLong(st.kills())
+                        .putLong(st.remoteStrikes()).putLong(st.remoteDefends())
+                        .putLong(st.framesSent()).putLong(st.messagesSent())
+                        .putLong(st.timeToSafepointNanos())
+                        .put((byte) (st.paused() ? 1 : 0));
+            }
+            case Peers p -> {
+                b.put(PEERS).putLong(p.request()).putInt(p.addresses().size());
+                for (InetSocketAddress a : p.addresses()) {
+                    byte[] host = a.getHostString().getBytes(StandardCharsets.UTF_8);
+                    b.putShort((short) host.length).put(host).putInt(a.getPort());
+                }
+            }
+        }
+    }
+
+    static Message get(ByteBuffer b) {
+        byte type = b.get();
+        return switch (type) {
+            case HELLO ->
+                new Hello(b.getInt());
+            case STRIKE ->
+                new Strike(b.getLong(), b.getInt(), b.getInt(), b.getLong());
+            case RESULT ->
+                new Result(b.getLong(), b.getInt(), b.getInt(), b.get() != 0);
+            case CONTROL ->
+                new Control(b.getLong(), Op.values()[b.get()]);
+            case STATUS -> {
+                long request = b.getLong();
+                int shard = b.getInt();
+                int size = b.getInt();
+                int alive = b.getInt();
+                long health = b.getLong();
+                long fights = b.getLong();
+                long kills = b.getLong();
+                long strikes = b.getLong();
+                long defends = b.getLong();
+                long frames = b.getLong();
+                long messages = b.getLong();
+                long tts = b.getLong();
+                boolean paused = b.get() != 0;
+                yield new Status(request, new ShardStatus(shard, size, alive, health, fights, kills, strikes,
+                        defends, frames, messages, paused, tts));
+            }
+            case PEERS -> {
+                long request = b.getLong();
+                int n = b.getInt();
+                List<InetSocketAddress> addresses = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) {
+                    byte[] host = new byte[b.getShort()];
+                    b.get(host);
+                    addresses.add(new InetSocketAddress(new String(host, StandardCharsets.UTF_8), b.getInt()));
+                }
+                yield new Peers(request, addresses);
+            }
+            default ->
+                throw new IllegalStateException("Unknown message type " + type);
+        };
+    }
+
+    /**
+     * Si {@code in} (en modo lectura) tiene un frame completo, deja la
+     * posición al inicio de sus mensajes y retorna dónde termina; si no,
+     * retorna -1 sin moverla. Los vivos del emisor quedan en {@code alive[0]}.
+     */
+    static int nextFrame(ByteBuffer in, int[] alive) {
+        if (in.remaining() < 4) {
+            return -1;
+        }
+        int length = in.getInt(in.position());
+        if (length < 4 || length > MAX_FRAME - 4) {
+            throw new IllegalStateException("Bad frame length " + length);
+        }
+        if (in.remaining() < 4 + length) {
+            return -1;
+        }
+        int end = in.position() + 4 + length;
+        in.position(in.position() + 4);
+        alive[0] = in.getInt();
+        return end;
+    }
+
+    /**
+     * Cierra el frame que se armó en {@code out} desde la posición 0 (los
+     * mensajes empiezan en {@link #HEADER}) y lo deja listo para escribir.
+     */
+    static void endFrame(ByteBuffer out, int alive) {
+        out.putInt(0, out.position() - 4);
+        out.putInt(4, alive);
+        out.flip();
+    }
+}
@@ -13,6 +13,8 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JSpinner;
+import javax.swing.JTabbedPane;
+import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
@@ -23,7 +25,8 @@ import edu.eci.arsw.immortals.ImmortalManager;
 public final class ControlFrame extends JFrame {
 
     private ImmortalManager manager;
-    private final JTextArea output = new JTextArea(14, 40);
+    private final JTextArea output = new JTextArea(6, 60);
+    private final JTabbedPane views = new JTabbedPane();
     private final JButton startBtn = new JButton("Start");
     private final JButton pauseAndCheckBtn = new JButton("Pause & Check");
     private final JButton resumeBtn = new JButton("Resume");
@@ -32,10 +35,13 @@ public final class ControlFrame extends JFrame {
     private final JSpinner countSpinner = new JSpinner(new SpinnerNumberModel(8, 2, 5000, 1));
     private final JSpinner healthSpinner = new JSpinner(new SpinnerNumberModel(100, 10, 10000, 10));
     private final JSpinner damageSpinner = new JSpinner(new SpinnerNumberModel(10, 1, 1000, 1));
-    private final JComboBox<String> fightMode = new JComboBox<>(new String[]{"ordered", "naive"});
+    private final JComboBox<String> fightMode = new JComboBox<>(new String[]{"ordered", "naive", "naive-detect", "trylock", "actor", "ordered-monitor", "naive-monitor"});
 
-    // Timer para refrescar la vista en tiempo real (ejecuta en EDT)
-    private final javax.swing.Timer refreshTimer;
+    // Vista en vivo: el feed arma los fotogramas fuera del EDT y la tabla y el
+    // mapa de calor solo copian las filas cambiadas
+    private LiveViewFeed feed;
+    private HealthTableModel tableModel;
+    private HeatmapPanel heatmap;
 
     public ControlFrame(int count, String fight) {
         setTitle("Highlander Simulator — ARSW");
@@ -57,7 +63,10 @@ public final class ControlFrame extends JFrame {
 
         output.setEditable(false);
         output.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
-        add(new JScrollPane(output), BorderLayout.CENTER);
+        JPanel center = new JPanel(new BorderLayout(4, 4));
+        center.add(new JScrollPane(output), BorderLayout.NORTH);
+        center.add(views, BorderLayout.CENTER);
+        add(center, BorderLayout.CENTER);
 
         JPanel bottom = new JPanel(new FlowLayout(FlowLayout.CENTER));
         bottom.add(startBtn);
@@ -71,20 +80,6 @@ public final class ControlFrame extends JFrame {
         resumeBtn.addActionListener(this::onResume);
         stopBtn.addActionListener(this::onStop);
 
-        // Timer: cada 200 ms refresca la vista si la simulación está corriendo y NO está en pausa.
-        refreshTimer = new javax.swing.Timer(200, e -> {
-            if (manager == null) {
-                return;
-            }
-            try {
-                if (!manager.controller().paused()) {
-                    updateLiveView(); // refresco en tiempo real
-                }
-            } catch (Exception ex) {
-                // no interrumpimos el timer por excepciones
-            }
-        });
-
         pack();
         setLocationByPlatform(true);
         setVisible(true);
@@ -97,36 +92,55 @@ public final class ControlFrame extends JFrame {
         int damage = (Integer) damageSpinner.getValue();
         String fight = (String) fightMode.getSelectedItem();
         manager = new ImmortalManager(n, fight, health, damage);
+        installViews(manager, health);
         manager.start();
-        // iniciar timer para refresco en tiempo real
-        refreshTimer.start();
+        // el feed refresca la vista cada 200 ms mientras no haya pausa
+        feed = new LiveViewFeed(manager, this::showFrame);
+        feed.start(200);
         output.setText("Simulation started with %d immortals (health=%d, damage=%d, fight=%s)%n"
                 .formatted(n, health, damage, fight));
     }
 
+    /*
+     * Crea la tabla y el mapa de calor para la población recién creada.
+     */
+    private void installViews(ImmortalManager m, int initialHealth) {
+        List<Immortal> pop = m.populationSnapshot();
+        String[] names = new String[pop.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = pop.get(i).name();
+        }
+        tableModel = new HealthTableModel(names);
+        heatmap = new HeatmapPanel(names.length, 2 * initialHealth);
+        int selected = Math.max(0, views.getSelectedIndex());
+        views.removeAll();
+        views.addTab("Table", new JScrollPane(new JTable(tableModel)));
+        views.addTab("Heatmap", heatmap);
+        views.setSelectedIndex(selected);
+        views.revalidate();
+    }
+
+    /*
+     * Aplica un fotograma en el EDT: copia solo las filas cambiadas.
+     */
+    private void showFrame(LiveFrame frame) {
+        if (frame.health().length != tableModel.getRowCount()) {
+            return; // fotograma rezagado de una simulación anterior
+        }
+        tableModel.apply(frame);
+        heatmap.apply(frame);
+        output.setText(frame.summary());
+    }
+
     private void onPauseAndCheck(ActionEvent e) {
         if (manager == null) {
             return;
         }
-        // Parar refresco en tiempo real: vamos a pausar la simulación y mostrar snapshot
-        refreshTimer.stop();
-
-        // Pausamos la simulación (bloquea hasta que todos los hilos estén en awaitIfPaused)
-        manager.pause();
+        // Pausamos la simulación (bloquea hasta que todos los hilos estén en
+        // awaitIfPaused); el feed deja de publicar mientras dure la pausa
         manager.pause();
-        // Ahora hacemos snapshot consistente
-        List<Immortal> pop = manager.populationSnapshot();
-        long sum = 0;
-        StringBuilder sb = new StringBuilder();
-        for (Immortal im : pop) {
-            int h = im.getHealth();
-            sum += h;
-            sb.append(String.format("%-14s : %5d%n", im.name(), h));
-        }
-        sb.append("--------------------------------\n");
-        sb.append("Total Health: ").append(sum).append('\n');
-        sb.append("Score (fights): ").append(manager.scoreBoard().totalFights()).append('\n');
-        output.setText(sb.toString());
+        // Con todos detenidos el snapshot es exacto: la suma total es el invariante
+        showFrame(feed.captureNow("Paused"));
     }
 
     private void onResume(ActionEvent e) {
@@ -134,11 +148,7 @@ public final class ControlFrame extends JFrame {
             return;
         }
         manager.resume();
-
-        // Volver a arrancar el refresco en tiempo real para que la GUI muestre actividad
-        refreshTimer.start();
-
-        // Mensaje corto en la UI para confirmar reanudado
+        // Mensaje corto en la UI para confirmar reanudado; el feed retoma solo
         output.setText("Simulation resumed...\n");
     }
 
@@ -148,8 +158,9 @@ public final class ControlFrame extends JFrame {
 
     private void safeStop() {
         if (manager != null) {
-            // parar timer
-            refreshTimer.stop();
+            // parar el feed antes que la simulación
+            feed.close();
+            feed = null;
             manager.stop();
             manager = null;
             // mostrar mensaje en la interfaz
@@ -157,27 +168,6 @@ public final class ControlFrame extends JFrame {
         }
     }
 
-    private void updateLiveView() {
-        // Se llama desde EDT por el javax.swing.Timer
-        if (manager == null) {
-            return;
-        }
-        List<Immortal> pop = manager.populationSnapshot();
-        long sum = 0;
-        StringBuilder sb = new StringBuilder();
-        sb.append("Live view (press Pause & Check for consistent snapshot)\n");
-        sb.append("--------------------------------\n");
-        for (Immortal im : pop) {
-            int h = im.getHealth();
-            sum += h;
-            sb.append(String.format("%-14s : %5d%n", im.name(), h));
-        }
-        sb.append("--------------------------------\n");
-        sb.append("Total Health: ").append(sum).append('\n');
-        sb.append("Score (fights): ").append(manager.scoreBoard().totalFights()).append('\n');
-        output.setText(sb.toString());
-    }
-
     public static void main(String[] args) {
         int count = Integer.getInteger("count", 8);
         String fight = System.getProperty("fight", "ordered");
@@ -0,0 +1,77 @@
+package edu.eci.arsw.highlandersim;
+
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Modelo de la tabla de inmortales. JTable solo pinta las filas visibles,
+ * así que el costo por fotograma es copiar las filas cambiadas y avisar de
+ * ellas por tramos contiguos.
+ */
+final class HealthTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMNS = {"Immortal", "Health", "Fights"};
+
+    private final String[] names;
+    private final int[] health;
+    private final long[] fights;
+
+    HealthTableModel(String[] names) {
+        this.names = names;
+        this.health = new int[names.length];
+        this.fights = new long[names.length];
+    }
+
+    /*
+     * Copia las filas cambiadas del fotograma. Solo desde el EDT.
+     */
+    void apply(LiveFrame frame) {
+        int[] changed = frame.changed();
+        for (int id : changed) {
+            health[id] = frame.health()[id];
+            fights[id] = frame.fights()[id];
+        }
+        // changed viene ordenado: avisamos por tramos contiguos
+        int i = 0;
+        while (i < changed.length) {
+            int j = i;
+            while (j + 1 < changed.length && changed[j + 1] == changed[j] + 1) {
+                j++;
+            }
+            fireTableRowsUpdated(changed[i], changed[j]);
+            i = j + 1;
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return names.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return switch (column) {
+            case 0 -> String.class;
+            case 1 -> Integer.class;
+            default -> Long.class;
+        };
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return switch (column) {
+            case 0 -> names[row];
+            case 1 -> health[row];
+            default -> fights[row];
+        };
+    }
+}
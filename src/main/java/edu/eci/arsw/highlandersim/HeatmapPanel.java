@@ -0,0 +1,75 @@
+package edu.eci.arsw.highlandersim;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JComponent;
+
+/**
+ * Mapa de calor: un píxel por inmortal en una grilla casi cuadrada, escalado
+ * al tamaño del panel. Cada fotograma solo recolorea los píxeles cambiados y
+ * pide repintar sus celdas (o todo el panel si cambiaron muchas).
+ */
+final class HeatmapPanel extends JComponent {
+
+    private static final int DEAD = new Color(40, 40, 40).getRGB();
+    // Por encima de este número de celdas cambiadas, repintar todo es más barato
+    private static final int PARTIAL_REPAINT_LIMIT = 256;
+
+    private final BufferedImage image;
+    private final int columns;
+    private final int rows;
+    private final int fullHealth;
+
+    /**
+     * @param fullHealth salud que se pinta con el verde más intenso (el doble
+     * de la inicial, por ejemplo).
+     */
+    HeatmapPanel(int size, int fullHealth) {
+        this.columns = (int) Math.ceil(Math.sqrt(size));
+        this.rows = (size + columns - 1) / columns;
+        this.fullHealth = Math.max(1, fullHealth);
+        this.image = new BufferedImage(columns, rows, BufferedImage.TYPE_INT_RGB);
+        setPreferredSize(new Dimension(400, 400));
+    }
+
+    /*
+     * Recolorea los píxeles cambiados del fotograma. Solo desde el EDT.
+     */
+    void apply(LiveFrame frame) {
+        int[] changed = frame.changed();
+        for (int id : changed) {
+            image.setRGB(id % columns, id / columns, color(frame.health()[id]));
+        }
+        if (changed.length > PARTIAL_REPAINT_LIMIT) {
+            repaint();
+            return;
+        }
+        double cw = (double) getWidth() / columns;
+        double ch = (double) getHeight() / rows;
+        for (int id : changed) {
+            int x = (int) Math.floor(id % columns * cw);
+            int y = (int) Math.floor(id / columns * ch);
+            repaint(x, y, (int) Math.ceil(cw) + 1, (int) Math.ceil(ch) + 1);
+        }
+    }
+
+    private int color(int health) {
+        if (health <= 0) {
+            return DEAD;
+        }
+        float t = Math.min(1f, (float) health / fullHealth);
+        return Color.HSBtoRGB(t / 3f, 0.85f, 0.9f); // rojo (poca salud) a verde
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(image, 0, 0, getWidth(), getHeight(), null);
+    }
+}
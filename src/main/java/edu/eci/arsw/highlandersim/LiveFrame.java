@@ -0,0 +1,29 @@
+package edu.eci.arsw.highlandersim;
+
+import java.util.BitSet;
+
+/**
+ * Fotograma inmutable de la vista en vivo, armado fuera del EDT: salud y
+ * peleas por inmortal, los ids que cambiaron respecto al fotograma anterior y
+ * el resumen ya formateado. El EDT solo copia las filas de {@code changed}.
+ */
+record LiveFrame(long epoch, int[] health, long[] fights, int[] changed, String summary) {
+
+    /*
+     * Fotograma que reemplaza a {@code older} sin que el EDT lo haya
+     * consumido: conserva los datos nuevos y une los ids cambiados de ambos.
+     */
+    LiveFrame coalesce(LiveFrame older) {
+        if (older == null) {
+            return this;
+        }
+        BitSet ids = new BitSet(health.length);
+        for (int id : older.changed) {
+            ids.set(id);
+        }
+        for (int id : changed) {
+            ids.set(id);
+        }
+        return new LiveFrame(epoch, health, fights, ids.stream().toArray(), summary);
+    }
+}
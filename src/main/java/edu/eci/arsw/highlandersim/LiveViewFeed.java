@@ -0,0 +1,145 @@
+package edu.eci.arsw.highlandersim;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+import edu.eci.arsw.immortals.HealthSnapshot;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.PopulationStats;
+import edu.eci.arsw.immortals.ScoreBoard;
+
+/**
+ * Produce fotogramas de la vista en vivo en un hilo propio: toma el snapshot
+ * consistente del manager, calcula qué filas cambiaron y arma el resumen.
+ * Los fotogramas que el EDT aún no consumió se fusionan, así que nunca hay más
+ * de un invokeLater pendiente sin importar el tamaño de la población.
+ */
+final class LiveViewFeed implements AutoCloseable {
+
+    private final ImmortalManager manager;
+    private final Consumer<LiveFrame> sink;
+    private final ScheduledExecutorService exec;
+    private final AtomicReference<LiveFrame> pending = new AtomicReference<>();
+    private int[] lastHealth; // base del diff; protegida por el monitor del feed
+    private long[] lastFights;
+
+    /**
+     * @param sink recibe los fotogramas en el EDT.
+     */
+    LiveViewFeed(ImmortalManager manager, Consumer<LiveFrame> sink) {
+        this.manager = manager;
+        this.sink = sink;
+        this.exec = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("live-view-feed").factory());
+    }
+
+    void start(long periodMillis) {
+        exec.scheduleWithFixedDelay(() -> {
+            try {
+                tick();
+            } catch (RuntimeException ex) {
+                // un fotograma fallido no debe cancelar la tarea periódica
+            }
+        }, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Un fotograma periódico. Captura y publicación van bajo el monitor del
+     * feed para que captureNow() vea cualquier fotograma ya capturado en
+     * pending y no quede uno más viejo en camino al EDT.
+     */
+    synchronized void tick() {
+        if (!manager.controller().paused()) {
+            publish(capture("Live view"));
+        }
+    }
+
+    /**
+     * Fotograma para mostrar de inmediato desde el EDT (por ejemplo al
+     * pausar): absorbe el fotograma pendiente, si lo hay, para que no se
+     * aplique después con datos viejos ni se pierdan sus filas cambiadas.
+     */
+    synchronized LiveFrame captureNow(String title) {
+        LiveFrame frame = capture(title);
+        return frame.coalesce(pending.getAndSet(null));
+    }
+
+    /**
+     * Arma un fotograma ahora mismo con el diff respecto al último capturado.
+     * Se puede llamar desde cualquier hilo (por ejemplo desde el EDT con la
+     * simulación en pausa).
+     */
+    synchronized LiveFrame capture(String title) {
+        HealthSnapshot snap = manager.snapshot();
+        ScoreBoard score = manager.scoreBoard();
+        int[] health = snap.health();
+        long[] fights = new long[health.length];
+        for (int id = 0; id < fights.length; id++) {
+            fights[id] = score.fights(id);
+        }
+        int[] changed = diff(health, fights);
+        lastHealth = health;
+        lastFights = fights;
+        return new LiveFrame(snap.epoch(), health, fights, changed, summary(title, snap));
+    }
+
+    private int[] diff(int[] health, long[] fights) {
+        if (lastHealth == null || lastHealth.length != health.length) {
+            int[] all = new int[health.length];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        int[] changed = new int[health.length];
+        int n = 0;
+        for (int id = 0; id < health.length; id++) {
+            if (health[id] != lastHealth[id] || fights[id] != lastFights[id]) {
+                changed[n++] = id;
+            }
+        }
+        return Arrays.copyOf(changed, n);
+    }
+
+    private void publish(LiveFrame frame) {
+        LiveFrame previous = pending.getAndUpdate(older -> frame.coalesce(older));
+        if (previous == null) {
+            SwingUtilities.invokeLater(() -> {
+                LiveFrame f = pending.getAndSet(null);
+                if (f != null) {
+                    sink.accept(f);
+                }
+            });
+        }
+    }
+
+    private String summary(String title, HealthSnapshot snap) {
+        PopulationStats stats = manager.stats();
+        ScoreBoard score = manager.scoreBoard();
+        StringBuilder sb = new StringBuilder();
+        sb.append(title).append(" (consistent snapshot, epoch ").append(snap.epoch()).append(")\n");
+        sb.append("Total Health: ").append(snap.totalHealth())
+                .append("   Alive: ").append(snap.aliveCount()).append(" / ").append(manager.size())
+                .append("   Min/Max health (watermarks): ").append(stats.minHealth())
+                .append(" / ").append(stats.maxHealth()).append('\n');
+        sb.append("Score (fights): ").append(score.totalFights())
+                .append("  kills: ").append(score.totalKills());
+        sb.append(String.format("   Fights/s (1s/10s/60s): %.0f / %.0f / %.0f%n",
+                score.fightsPerSecond1s(), score.fightsPerSecond10s(), score.fightsPerSecond60s()));
+        sb.append("Lock wait: ").append(score.lockWait()).append('\n');
+        sb.append("Fight: ").append(score.fightDuration()).append('\n');
+        sb.append(String.format("Time to safepoint: %.3f ms (max %.3f ms)",
+                manager.controller().lastTimeToSafepointNanos() / 1e6,
+                manager.controller().maxTimeToSafepointNanos() / 1e6));
+        return sb.toString();
+    }
+
+    @Override
+    public void close() {
+        exec.shutdownNow();
+    }
+}
@@ -0,0 +1,57 @@
+package edu.eci.arsw.immortals;
+
+import java.util.List;
+
+/**
+ * Pelea estilo actor: cada inmortal es dueño exclusivo de su salud y recibe
+ * daño y curación como mensajes en un buzón lock-free (MPSC). No se toma
+ * ningún monitor ni lock, así que los hilos virtuales nunca fijan su carrier.
+ *
+ * Una pelea ocurre en dos fases: el atacante envía un ataque al buzón del
+ * defensor; el defensor, en su propio hilo, aplica el daño (nunca por debajo
+ * de 0), registra la pelea y responde con una curación de la mitad del daño
+ * realmente causado. Un inmortal muerto no ataca ni se cura.
+ */
+public final class ActorFightStrategy implements FightStrategy {
+
+    @Override
+    public void fight(Immortal attacker, Immortal defender) {
+        if (attacker.health() <= 0 || defender.health() <= 0) {
+            return;
+        }
+        defender.post(new ActorMessage(attacker, attacker.damage()));
+    }
+
+    @Override
+    public void onTurn(Immortal self) {
+        self.drainMailbox();
+    }
+
+    /*
+     * Con todos los hilos detenidos el hilo que pausó toma el rol de
+     * consumidor de cada buzón y los vacía hasta que no quedan mensajes en
+     * vuelo (un ataque puede generar una curación, una curación no genera nada).
+     */
+    @Override
+    public void quiesce(List<Immortal> population) {
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (Immortal im : population) {
+                progress |= im.drainMailbox() > 0;
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "actor";
+    }
+
+    /**
+     * Mensaje del buzón: un ataque si {@code attacker} no es null, si no una
+     * curación de {@code amount}.
+     */
+    record ActorMessage(Immortal attacker, int amount) {
+    }
+}
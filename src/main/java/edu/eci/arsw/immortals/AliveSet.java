@@ -0,0 +1,108 @@
+package edu.eci.arsw.immortals;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conjunto concurrente de inmortales vivos con eliminación O(1) (intercambio
+ * con el último) y muestreo uniforme sin locks. Agregar o quitar toma un lock
+ * propio (solo ocurre una vez por inmortal); elegir un oponente solo lee el
+ * tamaño y un slot, así que nunca bloquea a los que pelean.
+ */
+final class AliveSet {
+
+    // Intentos de muestreo antes de rendirse (slots recién vaciados, uno mismo)
+    private static final int SAMPLE_ATTEMPTS = 8;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Immortal, Integer> index = new IdentityHashMap<>(); // guardado por lock
+    private volatile AtomicReferenceArray<Immortal> slots;
+    private volatile int size;
+
+    AliveSet(int capacity) {
+        slots = new AtomicReferenceArray<>(Math.max(capacity, 1));
+    }
+
+    static AliveSet copyOf(List<Immortal> population) {
+        var set = new AliveSet(population.size());
+        for (Immortal im : population) {
+            set.add(im);
+        }
+        return set;
+    }
+
+    void add(Immortal im) {
+        lock.lock();
+        try {
+            if (index.containsKey(im)) {
+                return;
+            }
+            AtomicReferenceArray<Immortal> s = slots;
+            if (size == s.length()) {
+                var bigger = new AtomicReferenceArray<Immortal>(s.length() * 2);
+                for (int i = 0; i < size; i++) {
+                    bigger.set(i, s.get(i));
+                }
+                slots = s = bigger;
+            }
+            s.set(size, im);
+            index.put(im, size);
+            size = size + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Quita un inmortal moviendo el último a su lugar. Retorna false si ya
+     * no estaba.
+     */
+    boolean remove(Immortal im) {
+        lock.lock();
+        try {
+            Integer idx = index.remove(im);
+            if (idx == null) {
+                return false;
+            }
+            AtomicReferenceArray<Immortal> s = slots;
+            int last = size - 1;
+            if (idx != last) {
+                Immortal moved = s.get(last);
+                s.set(idx, moved);
+                index.put(moved, idx);
+            }
+            s.set(last, null);
+            size = last;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Elige uniformemente un inmortal vivo distinto de {@code self}, o null si
+     * no hay ninguno (o si los intentos chocaron con eliminaciones en curso).
+     * {@code rnd} es el generador del hilo que llama.
+     */
+    Immortal sample(Immortal self, SplitMix64 rnd) {
+        for (int attempt = 0; attempt < SAMPLE_ATTEMPTS; attempt++) {
+            AtomicReferenceArray<Immortal> s = slots;
+            int n = Math.min(size, s.length());
+            if (n == 0) {
+                return null;
+            }
+            Immortal other = s.get(rnd.nextInt(n));
+            if (other != null && other != self && other.health() > 0) {
+                return other;
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+}
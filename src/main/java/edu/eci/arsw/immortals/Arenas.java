@@ -0,0 +1,132 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Partición de la población en arenas de ids contiguos, cada una con su
+ * propio conjunto de vivos. Un inmortal casi siempre elige oponente dentro de
+ * su arena, así que cada pelea toca locks, celdas de salud y contadores de un
+ * grupo acotado (contención y fallos de caché proporcionales al tamaño de la
+ * arena, no al de la población); con probabilidad {@code crossArenaRate}
+ * desafía a un inmortal de otra arena elegida al azar.
+ *
+ * Con una sola arena se comporta igual que un único AliveSet y consume el
+ * generador de la misma forma, así que las semillas existentes reproducen
+ * las mismas elecciones.
+ */
+final class Arenas {
+
+    private final AliveSet[] sets;
+    private final int population;
+    private final long crossThreshold; // crossArenaRate escalado a 2^53
+    private final double crossArenaRate;
+    private final LongAdder crossArena = new LongAdder();
+
+    Arenas(int population, int arenas, double crossArenaRate) {
+        if (arenas < 1) {
+            throw new IllegalArgumentException("arenas must be >= 1");
+        }
+        if (!(crossArenaRate >= 0 && crossArenaRate <= 1)) {
+            throw new IllegalArgumentException("crossArenaRate must be in [0, 1]");
+        }
+        int k = Math.max(1, Math.min(arenas, population));
+        this.sets = new AliveSet[k];
+        this.population = population;
+        for (int a = 0; a < k; a++) {
+            sets[a] = new AliveSet(size(a));
+        }
+        this.crossArenaRate = crossArenaRate;
+        this.crossThreshold = (long) (crossArenaRate * (1L << 53));
+    }
+
+    int count() {
+        return sets.length;
+    }
+
+    double crossArenaRate() {
+        return crossArenaRate;
+    }
+
+    /**
+     * Arena del inmortal con id {@code id}: rangos contiguos de tamaño casi
+     * igual.
+     */
+    int arenaOf(int id) {
+        return (int) (((long) id * sets.length + sets.length - 1) / Math.max(population, 1));
+    }
+
+    AliveSet arena(int a) {
+        return sets[a];
+    }
+
+    private int size(int a) {
+        int k = sets.length;
+        return (int) ((long) population * (a + 1) / k - (long) population * a / k);
+    }
+
+    int aliveCount() {
+        int alive = 0;
+        for (AliveSet s : sets) {
+            alive += s.size();
+        }
+        return alive;
+    }
+
+    /**
+     * Peleas en que el oponente salió de otra arena (desafíos, o porque la
+     * propia ya no tenía rivales).
+     */
+    long crossArenaPicks() {
+        return crossArena.sum();
+    }
+
+    /**
+     * Elige un oponente vivo para {@code self}, miembro de la arena
+     * {@code arena}: de otra arena con probabilidad crossArenaRate, de la
+     * propia en otro caso. Si la propia se quedó sin rivales busca en las
+     * demás, para que la simulación siga convergiendo a un único vivo.
+     */
+    Immortal pick(Immortal self, int arena, SplitMix64 rnd) {
+        int k = sets.length;
+        if (k == 1) {
+            return sets[0].sample(self, rnd);
+        }
+        if (crossThreshold > 0 && (rnd.nextLong() >>> 11) < crossThreshold) {
+            int other = rnd.nextInt(k - 1);
+            Immortal opponent = sets[other >= arena ? other + 1 : other].sample(self, rnd);
+            if (opponent != null) {
+                crossArena.increment();
+                return opponent;
+            }
+        }
+        Immortal opponent = sets[arena].sample(self, rnd);
+        if (opponent != null || sets[arena].size() > 1) {
+            return opponent;
+        }
+        int start = rnd.nextInt(k);
+        for (int i = 0; i < k; i++) {
+            int a = (start + i) % k;
+            if (a != arena && (opponent = sets[a].sample(self, rnd)) != null) {
+                crossArena.increment();
+                return opponent;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Un inmortal vivo de cualquier arena (para los golpes que llegan de
+     * otros shards), o null si no queda ninguno.
+     */
+    Immortal any(SplitMix64 rnd) {
+        int k = sets.length;
+        int start = k == 1 ? 0 : rnd.nextInt(k);
+        for (int i = 0; i < k; i++) {
+            Immortal im = sets[(start + i) % k].sample(null, rnd);
+            if (im != null) {
+                return im;
+            }
+        }
+        return null;
+    }
+}
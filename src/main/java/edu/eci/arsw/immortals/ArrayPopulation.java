@@ -0,0 +1,364 @@
+package edu.eci.arsw.immortals;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.metrics.FightEvent;
+import edu.eci.arsw.metrics.FlightEvents;
+import edu.eci.arsw.metrics.LockWaitEvent;
+
+/**
+ * Motor de población "structure of arrays": la salud de todos los inmortales
+ * vive en un único {@code int[]} indexado por id y un pool fijo de workers
+ * (uno por núcleo por defecto) recorre rangos contiguos de atacantes. No hay
+ * un objeto, un monitor ni un hilo por inmortal, así que 1M de inmortales
+ * ocupan unos pocos MB más las estadísticas por id del ScoreBoard (64 bytes,
+ * una línea de caché, por inmortal: unos 64 MB). Salud total y vivos se leen
+ * en O(1) de {@link PopulationStats}.
+ *
+ * Cada pelea toma dos locks de un arreglo de stripes, en orden de stripe
+ * (un solo lock si ambos caen en el mismo stripe), con la misma semántica que
+ * fightOrdered: la salud nunca baja de 0 y el atacante gana la mitad del daño
+ * realmente causado.
+ */
+public final class ArrayPopulation implements Simulation {
+
+    static final int DEFAULT_STRIPES = 1024;
+    // Cada cuántas peleas un worker pasa por el punto de pausa
+    static final int PAUSE_CHECK_INTERVAL = 256;
+
+    private final int[] health;
+    private final int initialHealth;
+    private final int damage;
+    private final int workers;
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+    private final PauseController controller = new PauseController();
+    private final ScoreBoard scoreBoard;
+    private final PopulationStats stats = new PopulationStats();
+    private final long seed;
+    private final SplitMix64[] rngs; // uno por worker; solo lo usa su worker
+    private volatile Pacer pacer = Pacer.unthrottled();
+    private volatile boolean running;
+    private ExecutorService exec;
+
+    public ArrayPopulation(int n, int initialHealth, int damage) {
+        this(n, initialHealth, damage, Runtime.getRuntime().availableProcessors(), DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param workers número de workers; cada uno recorre un rango de ids.
+     * @param stripes número de locks; se redondea a la siguiente potencia de 2.
+     */
+    public ArrayPopulation(int n, int initialHealth, int damage, int workers, int stripes) {
+        this(n, initialHealth, damage, workers, stripes, 0);
+    }
+
+    /**
+     * @param seed semilla base; cada worker usa un flujo derivado de ella.
+     */
+    public ArrayPopulation(int n, int initialHealth, int damage, int workers, int stripes, long seed) {
+        if (n < 2) {
+            throw new IllegalArgumentException("Population must have at least 2 immortals");
+        }
+        if (workers < 1 || stripes < 1) {
+            throw new IllegalArgumentException("workers and stripes must be positive");
+        }
+        this.health = new int[n];
+        Arrays.fill(health, initialHealth);
+        this.initialHealth = initialHealth;
+        this.damage = damage;
+        this.workers = Math.min(workers, n);
+        int s = Integer.highestOneBit(stripes);
+        if (s < stripes) {
+            s <<= 1;
+        }
+        this.stripes = new ReentrantLock[s];
+        for (int i = 0; i < s; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.stripeMask = s - 1;
+        this.seed = seed;
+        this.rngs = new SplitMix64[this.workers];
+        for (int w = 0; w < this.workers; w++) {
+            rngs[w] = new SplitMix64(SplitMix64.seedFor(seed, w));
+        }
+        this.scoreBoard = new ScoreBoard(n);
+        stats.add(initialHealth, n);
+    }
+
+    @Override
+    public synchronized void start() {
+        start(Thread.ofPlatform().daemon().name("arrays-worker-", 0).factory());
+    }
+
+    public synchronized void start(ThreadFactory factory) {
+        if (exec != null) {
+            stop();
+        }
+        running = true;
+        pacer.start();
+        exec = Executors.newFixedThreadPool(workers, factory);
+        int n = health.length;
+        for (int w = 0; w < workers; w++) {
+            int lo = (int) ((long) n * w / workers);
+            int hi = (int) ((long) n * (w + 1) / workers);
+            controller.registerThread();
+            SplitMix64 rnd = rngs[w];
+            exec.submit(() -> work(lo, hi, rnd));
+        }
+    }
+
+    /*
+     * Ciclo de un worker: cada ronda, cada atacante vivo de su rango pelea
+     * contra un oponente aleatorio de toda la población.
+     */
+    private void work(int lo, int hi, SplitMix64 rnd) {
+        int n = health.length;
+        int sinceCheck = 0;
+        Pacer pace = pacer;
+        Pacer perFight = pace instanceof RoundPacer ? Pacer.unthrottled() : pace;
+        try {
+            while (running) {
+                controller.awaitIfPaused();
+                if (stats.aliveCount() <= 1) {
+                    Thread.sleep(1); // nada que pelear, solo esperamos stop/pause
+                    continue;
+                }
+                if (perFight != pace) {
+                    pace.await(controller); // inicio de la ronda de este worker
+                }
+                for (int i = lo; i < hi && running; i++) {
+                    if (health[i] <= 0) {
+                        continue;
+                    }
+                    int j = rnd.nextInt(n - 1);
+                    if (j >= i) {
+                        j++;
+                    }
+                    perFight.await(controller);
+                    fight(i, j);
+                    if (++sinceCheck == PAUSE_CHECK_INTERVAL) {
+                        sinceCheck = 0;
+                        controller.awaitIfPaused();
+                    }
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            controller.deregisterThread();
+        }
+    }
+
+    /*
+     * Pelea entre los ids i (atacante) y j (defensor) tomando los stripes en
+     * orden para evitar deadlocks.
+     */
+    void fight(int i, int j) {
+        if (health[j] <= 0) {
+            return; // pre-chequeo sin lock; se vuelve a validar adentro
+        }
+        int si = i & stripeMask;
+        int sj = j & stripeMask;
+        ReentrantLock first = stripes[Math.min(si, sj)];
+        ReentrantLock second = stripes[Math.max(si, sj)];
+        var event = FlightEvents.enabled() ? new FightEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = System.nanoTime();
+        first.lock();
+        try {
+            if (first != second) {
+                second.lock();
+            }
+            try {
+                long wait = System.nanoTime() - start;
+                scoreBoard.recordLockWait(wait);
+                if (event != null) {
+                    var waitEvent = new LockWaitEvent();
+                    if (waitEvent.shouldCommit()) {
+                        waitEvent.immortal = i;
+                        waitEvent.waitNanos = wait;
+                        waitEvent.commit();
+                    }
+                }
+                int hi = health[i];
+                int hj = health[j];
+                if (hi <= 0 || hj <= 0) {
+                    return;
+                }
+                int dealt = Math.min(hj, damage);
+                health[j] = hj - dealt;
+                health[i] = hi + dealt / 2;
+                stats.onHealthChange(hj, hj - dealt);
+                stats.onHealthChange(hi, hi + dealt / 2);
+                scoreBoard.recordFight(i, dealt, hj == dealt);
+            } finally {
+                if (first != second) {
+                    second.unlock();
+                }
+            }
+        } finally {
+            first.unlock();
+            if (event != null && event.shouldCommit()) {
+                event.attacker = i;
+                event.defender = j;
+                event.strategy = "arrays";
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public void pause() {
+        controller.pause();
+    }
+
+    @Override
+    public void resume() {
+        controller.resume();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (exec == null) {
+            return;
+        }
+        running = false;
+        controller.resume();
+        pacer.stop();
+        exec.shutdown();
+        try {
+            if (!exec.awaitTermination(5, TimeUnit.SECONDS)) {
+                exec.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            exec.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        exec = null;
+    }
+
+    @Override
+    public int size() {
+        return health.length;
+    }
+
+    @Override
+    public int aliveCount() {
+        return stats.aliveCount();
+    }
+
+    /**
+     * Salud actual del inmortal con el id dado (lectura sin lock).
+     */
+    public int health(int id) {
+        return health[id];
+    }
+
+    @Override
+    public long totalHealth() {
+        return stats.totalHealth();
+    }
+
+    @Override
+    public PopulationStats stats() {
+        return stats;
+    }
+
+    @Override
+    public PopulationStats reconcileStats() {
+        boolean wasPaused = controller.paused();
+        pause();
+        try {
+            stats.reconcile(health);
+        } finally {
+            if (!wasPaused) {
+                resume();
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Checkpoint exacto: pausa solo mientras copia el arreglo de salud, los
+     * contadores y el estado del generador de cada worker.
+     */
+    @Override
+    public Checkpoint checkpoint() {
+        boolean wasPaused = controller.paused();
+        pause();
+        try {
+            long[] rng = new long[rngs.length];
+            for (int w = 0; w < rng.length; w++) {
+                rng[w] = rngs[w].state();
+            }
+            return new Checkpoint("arrays", "ordered", initialHealth, damage, seed, 1, 0,
+                    scoreBoard.totalFights(), scoreBoard.totalKills(), scoreBoard.totalDamage(),
+                    health.clone(), scoreBoard.perImmortalCounters(), rng);
+        } finally {
+            if (!wasPaused) {
+                resume();
+            }
+        }
+    }
+
+    /**
+     * Crea una población, sin arrancar, con el estado de un checkpoint del
+     * motor "arrays" (con tantos workers como generadores guardados).
+     *
+     * @throws IllegalArgumentException si el checkpoint es de otro motor.
+     */
+    public static ArrayPopulation restore(Checkpoint cp) {
+        if (!"arrays".equals(cp.engine())) {
+            throw new IllegalArgumentException("Checkpoint is for engine " + cp.engine() + ", not arrays");
+        }
+        var p = new ArrayPopulation(cp.size(), cp.initialHealth(), cp.damage(), cp.rng().length, DEFAULT_STRIPES,
+                cp.seed());
+        System.arraycopy(cp.health(), 0, p.health, 0, cp.size());
+        for (int w = 0; w < p.rngs.length; w++) {
+            p.rngs[w].setState(cp.rng()[w]);
+        }
+        p.stats.reconcile(p.health);
+        p.scoreBoard.restore(cp.totalFights(), cp.totalKills(), cp.totalDamage(), cp.perImmortal());
+        return p;
+    }
+
+    @Override
+    public int[] healthSnapshot() {
+        return health.clone();
+    }
+
+    @Override
+    public ScoreBoard scoreBoard() {
+        return scoreBoard;
+    }
+
+    /**
+     * Por defecto sin pausa entre peleas. Con rondas cada worker recorre su
+     * rango una vez por tick (cada inmortal vivo ataca una vez por ronda);
+     * los demás modos se aplican a cada pelea.
+     */
+    @Override
+    public void pace(Pacer pacer) {
+        this.pacer = Objects.requireNonNull(pacer);
+    }
+
+    @Override
+    public Pacer pacer() {
+        return pacer;
+    }
+
+    @Override
+    public PauseController controller() {
+        return controller;
+    }
+}
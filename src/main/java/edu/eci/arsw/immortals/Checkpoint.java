@@ -0,0 +1,115 @@
+package edu.eci.arsw.immortals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Estado completo de una simulación: salud por inmortal, contadores del
+ * ScoreBoard (totales y por id) y el estado de cada generador aleatorio
+ * (uno por inmortal en el motor "objects", uno por worker en "arrays"; en
+ * "rounds" basta el número de rondas). Guarda también las arenas y su tasa de
+ * desafíos cruzados, que en "objects" deciden los rivales; los otros motores
+ * usan una sola arena y tasa 0.
+ *
+ * El archivo es binario y little endian: un encabezado fijo seguido de los
+ * arreglos crudos, así que {@link #read(Path)} lo mapea en memoria y copia
+ * cada arreglo en bloque (1M de inmortales cargan en milisegundos).
+ * {@link #write(Path)} escribe a un archivo temporal y lo renombra, de modo
+ * que un checkpoint a medio escribir nunca reemplaza al anterior.
+ */
+public record Checkpoint(String engine, String fight, int initialHealth, int damage, long seed,
+        int arenas, double crossArenaRate, long totalFights, long totalKills, long totalDamage,
+        int[] health, long[] perImmortal, long[] rng) {
+
+    private static final int MAGIC = 0x4B434D49; // "IMCK"
+    private static final int VERSION = 2;
+
+    public int size() {
+        return health.length;
+    }
+
+    public void write(Path file) throws IOException {
+        byte[] e = engine.getBytes(StandardCharsets.UTF_8);
+        byte[] f = fight.getBytes(StandardCharsets.UTF_8);
+        int header = align8(4 * 4 + 2 + e.length + 2 + f.length + 4 * 3 + 8 * 5 + 4 * 2);
+        long bytes = header + align8(4L * health.length) + 8L * perImmortal.length + 8L * rng.length;
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer m = ch.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            m.order(ByteOrder.LITTLE_ENDIAN);
+            m.putInt(MAGIC).putInt(VERSION).putInt(header).putInt(health.length);
+            m.putShort((short) e.length).put(e).putShort((short) f.length).put(f);
+            m.putInt(initialHealth).putInt(damage).putInt(arenas);
+            m.putDouble(crossArenaRate).putLong(seed).putLong(totalFights).putLong(totalKills).putLong(totalDamage);
+            m.putInt(perImmortal.length).putInt(rng.length);
+            m.position(header);
+            m.asIntBuffer().put(health);
+            m.position(header + (int) align8(4L * health.length));
+            m.asLongBuffer().put(perImmortal);
+            m.position(m.position() + 8 * perImmortal.length);
+            m.asLongBuffer().put(rng);
+            m.force();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static Checkpoint read(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer m = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            m.order(ByteOrder.LITTLE_ENDIAN);
+            if (m.getInt() != MAGIC) {
+                throw new IOException("Not a checkpoint file: " + file);
+            }
+            int version = m.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version + ": " + file);
+            }
+            int header = m.getInt();
+            int n = m.getInt();
+            String engine = string(m);
+            String fight = string(m);
+            int initialHealth = m.getInt();
+            int damage = m.getInt();
+            int arenas = m.getInt();
+            double crossArenaRate = m.getDouble();
+            long seed = m.getLong();
+            long fights = m.getLong();
+            long kills = m.getLong();
+            long dealt = m.getLong();
+            long[] perImmortal = new long[m.getInt()];
+            long[] rng = new long[m.getInt()];
+            int[] health = new int[n];
+            m.position(header);
+            m.asIntBuffer().get(health);
+            m.position(header + (int) align8(4L * n));
+            m.asLongBuffer().get(perImmortal);
+            m.position(m.position() + 8 * perImmortal.length);
+            m.asLongBuffer().get(rng);
+            return new Checkpoint(engine, fight, initialHealth, damage, seed, arenas, crossArenaRate,
+                    fights, kills, dealt, health, perImmortal, rng);
+        }
+    }
+
+    private static String string(ByteBuffer b) {
+        byte[] bytes = new byte[b.getShort()];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long align8(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static int align8(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+}
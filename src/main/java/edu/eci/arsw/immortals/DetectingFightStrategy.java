@@ -0,0 +1,56 @@
+package edu.eci.arsw.immortals;
+
+import java.util.Objects;
+
+import edu.eci.arsw.concurrency.DeadlockDetector;
+import edu.eci.arsw.concurrency.DeadlockException;
+
+/**
+ * Pelea ingenua (primero el atacante, luego el defensor) sobre los
+ * ReentrantLock de cada inmortal, pero tomados a través de un
+ * {@link DeadlockDetector}: cuando dos o más inmortales quedan en un ciclo de
+ * espera, la víctima descarta su pelea en vez de colgar la simulación. Los
+ * contadores del detector dicen cuántos deadlocks hubo.
+ */
+public final class DetectingFightStrategy implements FightStrategy {
+
+    private final DeadlockDetector detector;
+
+    public DetectingFightStrategy() {
+        this(new DeadlockDetector());
+    }
+
+    public DetectingFightStrategy(DeadlockDetector detector) {
+        this.detector = Objects.requireNonNull(detector);
+    }
+
+    @Override
+    public void fight(Immortal attacker, Immortal defender) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            detector.lock(attacker.lock(), attacker.name());
+            try {
+                detector.lock(defender.lock(), defender.name());
+                try {
+                    attacker.lockAcquired(start);
+                    attacker.strike(defender);
+                } finally {
+                    detector.unlock(defender.lock());
+                }
+            } finally {
+                detector.unlock(attacker.lock());
+            }
+        } catch (DeadlockException e) {
+            // víctima del ciclo: la pelea se descarta y los locks ya se soltaron
+        }
+    }
+
+    public DeadlockDetector detector() {
+        return detector;
+    }
+
+    @Override
+    public String name() {
+        return "naive-detect";
+    }
+}
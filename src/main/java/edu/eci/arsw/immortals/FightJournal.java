@@ -0,0 +1,187 @@
+package edu.eci.arsw.immortals;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Diario binario de peleas sobre archivos mapeados en memoria. Cada evento es
+ * un registro fijo de {@value #RECORD_BYTES} bytes (little endian):
+ * timestamp (long, ns desde que se abrió el diario, siempre &gt;= 1),
+ * atacante, defensor y daño (int).
+ *
+ * <ul>
+ * <li>{@code damage >= 0}: pelea completa; el defensor pierde {@code damage}
+ * y el atacante gana {@code damage / 2}.</li>
+ * <li>{@code damage < 0}: golpe del modo actor; el defensor pierde
+ * {@code -damage} y la curación llega después como su propio registro.</li>
+ * <li>{@code attacker == }{@value #NO_ATTACKER}: curación de {@code damage}
+ * para el defensor (si sigue vivo).</li>
+ * </ul>
+ *
+ * Cada hilo escribe en un buffer propio sin sincronización; al llenarse
+ * reserva un tramo del log con un solo getAndAdd y lo copia al segmento
+ * mapeado. El log se parte en segmentos de tamaño fijo
+ * ({@code segment-000000.journal}, ...). Dentro de un tramo los registros
+ * están ordenados por tiempo; {@link FightJournalReader} los mezcla.
+ */
+public final class FightJournal implements AutoCloseable {
+
+    public static final int RECORD_BYTES = 20;
+    public static final int NO_ATTACKER = -1;
+    static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 22; // 80 MiB
+    static final int DEFAULT_RECORDS_PER_BUFFER = 256;
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final int bufferBytes;
+    private final long origin = System.nanoTime();
+    private final AtomicLong reserved = new AtomicLong();
+    private final Map<Integer, MappedByteBuffer> segments = new ConcurrentHashMap<>();
+    private final Queue<ThreadBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ThreadBuffer> local = ThreadLocal.withInitial(this::newBuffer);
+    private volatile boolean closed;
+
+    public FightJournal(Path dir) throws IOException {
+        this(dir, DEFAULT_RECORDS_PER_SEGMENT, DEFAULT_RECORDS_PER_BUFFER);
+    }
+
+    public FightJournal(Path dir, int recordsPerSegment, int recordsPerBuffer) throws IOException {
+        if (recordsPerSegment < 1 || recordsPerBuffer < 1) {
+            throw new IllegalArgumentException("segment and buffer sizes must be positive");
+        }
+        this.dir = Files.createDirectories(dir);
+        this.segmentBytes = (long) recordsPerSegment * RECORD_BYTES;
+        this.bufferBytes = recordsPerBuffer * RECORD_BYTES;
+    }
+
+    /** Pelea completa (ver la descripción de la clase). */
+    public void recordFight(int attacker, int defender, int damage) {
+        append(attacker, defender, damage);
+    }
+
+    /** Golpe del modo actor, sin la curación del atacante. */
+    public void recordHit(int attacker, int defender, int damage) {
+        append(attacker, defender, -damage);
+    }
+
+    /** Curación del modo actor. */
+    public void recordHeal(int target, int amount) {
+        append(NO_ATTACKER, target, amount);
+    }
+
+    private void append(int attacker, int defender, int damage) {
+        if (closed) {
+            return;
+        }
+        ThreadBuffer b = local.get();
+        ByteBuffer buf = b.buf;
+        buf.putLong(System.nanoTime() - origin + 1).putInt(attacker).putInt(defender).putInt(damage);
+        if (!buf.hasRemaining()) {
+            b.drain();
+        }
+    }
+
+    /**
+     * Copia al log el buffer del hilo que llama.
+     */
+    public void flush() {
+        local.get().drain();
+    }
+
+    /**
+     * Registros reservados en el log hasta ahora (sin contar los que siguen
+     * en los buffers de cada hilo).
+     */
+    public long recordsWritten() {
+        return reserved.get() / RECORD_BYTES;
+    }
+
+    public Path directory() {
+        return dir;
+    }
+
+    /**
+     * Vacía los buffers de todos los hilos y fuerza los segmentos a disco.
+     * Debe llamarse con los escritores ya detenidos (por ejemplo después de
+     * {@code ImmortalManager.stop()}).
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        for (ThreadBuffer b : buffers) {
+            b.drain();
+        }
+        closed = true;
+        for (MappedByteBuffer m : segments.values()) {
+            m.force();
+        }
+    }
+
+    static Path segmentPath(Path dir, int index) {
+        return dir.resolve(String.format("segment-%06d.journal", index));
+    }
+
+    private ThreadBuffer newBuffer() {
+        ThreadBuffer b = new ThreadBuffer(bufferBytes);
+        buffers.add(b);
+        return b;
+    }
+
+    /*
+     * Copia {@code len} bytes desde {@code src} al tramo reservado; como los
+     * segmentos miden un múltiplo del registro, un tramo que cruza de
+     * segmento se parte en un borde de registro.
+     */
+    private void write(byte[] src, int len) {
+        long pos = reserved.getAndAdd(len);
+        int off = 0;
+        while (off < len) {
+            int index = (int) (pos / segmentBytes);
+            int at = (int) (pos % segmentBytes);
+            int n = (int) Math.min(len - off, segmentBytes - at);
+            segment(index).put(at, src, off, n);
+            pos += n;
+            off += n;
+        }
+    }
+
+    private MappedByteBuffer segment(int index) {
+        return segments.computeIfAbsent(index, i -> {
+            try (FileChannel ch = FileChannel.open(segmentPath(dir, i), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return ch.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private final class ThreadBuffer {
+        final ByteBuffer buf;
+
+        ThreadBuffer(int bytes) {
+            this.buf = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void drain() {
+            if (buf.position() > 0) {
+                write(buf.array(), buf.position());
+                buf.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package edu.eci.arsw.immortals;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Lee un diario escrito por {@link FightJournal}: mapea cada segmento en solo
+ * lectura, descarta los registros nunca escritos (timestamp 0), y mezcla por
+ * timestamp los tramos de cada hilo (k-way merge, O(n log k)).
+ */
+public final class FightJournalReader {
+
+    /** Un evento del diario; ver {@link FightJournal} para el significado. */
+    public record FightRecord(long nanos, int attacker, int defender, int damage) {
+    }
+
+    private final long[] nanos;
+    private final int[] attacker;
+    private final int[] defender;
+    private final int[] damage;
+    private final int[] order; // índices en orden de timestamp
+
+    private FightJournalReader(long[] nanos, int[] attacker, int[] defender, int[] damage, int[] order) {
+        this.nanos = nanos;
+        this.attacker = attacker;
+        this.defender = defender;
+        this.damage = damage;
+        this.order = order;
+    }
+
+    public static FightJournalReader open(Path dir) throws IOException {
+        List<MappedByteBuffer> maps = new ArrayList<>();
+        long capacity = 0;
+        for (int i = 0; Files.exists(FightJournal.segmentPath(dir, i)); i++) {
+            try (FileChannel ch = FileChannel.open(FightJournal.segmentPath(dir, i), StandardOpenOption.READ)) {
+                MappedByteBuffer m = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                m.order(ByteOrder.LITTLE_ENDIAN);
+                maps.add(m);
+                capacity += ch.size() / FightJournal.RECORD_BYTES;
+            }
+        }
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("Journal too large to load: " + capacity + " records");
+        }
+        int cap = (int) capacity;
+        long[] ts = new long[cap];
+        int[] a = new int[cap];
+        int[] d = new int[cap];
+        int[] dmg = new int[cap];
+        // Cada tramo ascendente de timestamps es una corrida de un mismo hilo
+        List<int[]> runs = new ArrayList<>();
+        int n = 0;
+        int runStart = 0;
+        for (MappedByteBuffer m : maps) {
+            int records = m.capacity() / FightJournal.RECORD_BYTES;
+            for (int r = 0; r < records; r++) {
+                int at = r * FightJournal.RECORD_BYTES;
+                long t = m.getLong(at);
+                if (t == 0) {
+                    continue; // reservado pero nunca escrito
+                }
+                if (n > runStart && t < ts[n - 1]) {
+                    runs.add(new int[] {runStart, n});
+                    runStart = n;
+                }
+                ts[n] = t;
+                a[n] = m.getInt(at + 8);
+                d[n] = m.getInt(at + 12);
+                dmg[n] = m.getInt(at + 16);
+                n++;
+            }
+        }
+        if (n > runStart) {
+            runs.add(new int[] {runStart, n});
+        }
+        return new FightJournalReader(Arrays.copyOf(ts, n), Arrays.copyOf(a, n), Arrays.copyOf(d, n),
+                Arrays.copyOf(dmg, n), merge(ts, runs, n));
+    }
+
+    private static int[] merge(long[] ts, List<int[]> runs, int n) {
+        int[] order = new int[n];
+        // cursor = {posición actual, fin de la corrida}
+        PriorityQueue<int[]> heap = new PriorityQueue<>(Math.max(1, runs.size()),
+                (x, y) -> Long.compare(ts[x[0]], ts[y[0]]));
+        for (int[] run : runs) {
+            heap.add(new int[] {run[0], run[1]});
+        }
+        int k = 0;
+        while (!heap.isEmpty()) {
+            int[] c = heap.poll();
+            order[k++] = c[0];
+            if (++c[0] < c[1]) {
+                heap.add(c);
+            }
+        }
+        return order;
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    /** El i-ésimo evento en orden de timestamp. */
+    public FightRecord get(int i) {
+        int j = order[i];
+        return new FightRecord(nanos[j], attacker[j], defender[j], damage[j]);
+    }
+
+    public void forEach(Consumer<FightRecord> action) {
+        for (int i = 0; i < order.length; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    /**
+     * Reproduce todos los eventos, en orden de timestamp y sin esperas, sobre
+     * un ImmortalManager recién creado (sin arrancar) con la misma población,
+     * salud inicial y daño que la corrida original.
+     *
+     * @return el número de eventos aplicados.
+     */
+    public int replay(ImmortalManager target) {
+        for (int i = 0; i < order.length; i++) {
+            int j = order[i];
+            target.replay(attacker[j], defender[j], damage[j]);
+        }
+        return order.length;
+    }
+}
@@ -0,0 +1,75 @@
+package edu.eci.arsw.immortals;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Estrategia de pelea entre dos inmortales. Se resuelve una sola vez (al
+ * construir el ImmortalManager) y cada inmortal la usa en su ciclo de pelea,
+ * sin consultar propiedades del sistema en el camino caliente.
+ *
+ * Cada implementación decide cómo obtener acceso exclusivo a los dos
+ * inmortales; la aritmética del golpe está en {@link Immortal#strike}.
+ */
+public interface FightStrategy {
+
+    /**
+     * Hace que {@code attacker} ataque a {@code defender}.
+     *
+     * @throws InterruptedException si el hilo es interrumpido mientras espera
+     * por los locks.
+     */
+    void fight(Immortal attacker, Immortal defender) throws InterruptedException;
+
+    /**
+     * Se invoca en el hilo de cada inmortal al inicio de su turno, antes de
+     * elegir oponente. Por defecto no hace nada.
+     */
+    default void onTurn(Immortal self) {
+    }
+
+    /**
+     * Se invoca con todos los hilos detenidos (dentro de una pausa o después
+     * de stop) para aplicar cualquier trabajo pendiente y dejar la salud de
+     * la población consistente. Por defecto no hace nada.
+     */
+    default void quiesce(List<Immortal> population) {
+    }
+
+    /**
+     * Nombre corto de la estrategia, el mismo que acepta {@link #of(String)}.
+     */
+    String name();
+
+    /**
+     * Resuelve una estrategia a partir de su nombre: "ordered", "naive",
+     * "naive-detect", "trylock", "actor" o las versiones de legado con
+     * monitores "ordered-monitor" y "naive-monitor". Si el nombre es null se
+     * usa "ordered".
+     *
+     * @throws IllegalArgumentException si el nombre no corresponde a ninguna
+     * estrategia conocida.
+     */
+    static FightStrategy of(String mode) {
+        String m = mode == null ? "ordered" : mode.trim().toLowerCase(Locale.ROOT);
+        return switch (m) {
+            case "ordered" ->
+                new OrderedFightStrategy();
+            case "naive" ->
+                new NaiveFightStrategy();
+            case "naive-detect" ->
+                new DetectingFightStrategy();
+            case "trylock" ->
+                new TryLockFightStrategy();
+            case "actor" ->
+                new ActorFightStrategy();
+            case "ordered-monitor" ->
+                MonitorFightStrategy.ordered();
+            case "naive-monitor" ->
+                MonitorFightStrategy.naive();
+            default ->
+                throw new IllegalArgumentException("Unknown fight mode: " + mode
+                        + " (use ordered|naive|naive-detect|trylock|actor|ordered-monitor|naive-monitor)");
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Vista consistente (punto en el tiempo) de la salud de la población,
+ * tomada sin pausar la simulación. {@code health[i]} corresponde al
+ * inmortal i de {@link ImmortalManager#populationSnapshot()}.
+ */
+public record HealthSnapshot(long epoch, int[] health, long totalHealth, int aliveCount) {
+}
@@ -3,8 +3,14 @@ package edu.eci.arsw.immortals;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
 
+import edu.eci.arsw.concurrency.MpscQueue;
 import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.immortals.ActorFightStrategy.ActorMessage;
+import edu.eci.arsw.metrics.FightEvent;
+import edu.eci.arsw.metrics.FlightEvents;
+import edu.eci.arsw.metrics.LockWaitEvent;
 
 /**
  * Un ser inmortal que lucha contra otros inmortales hasta morir. Se puede
@@ -12,29 +18,148 @@ import edu.eci.arsw.concurrency.PauseController;
  */
 public final class Immortal implements Runnable {
 
+    private static final NaiveFightStrategy NAIVE = new NaiveFightStrategy();
+    private static final OrderedFightStrategy ORDERED = new OrderedFightStrategy();
+
+    private final int id; // posición en la población; -1 para inmortales sueltos
     private final String name;
-    private int health;
+    // Celda MVCC: época de la última escritura y valor, más la versión anterior
+    // (ver SnapshotClock). volatile porque cada estrategia usa su propio lock.
+    private volatile long health;
+    private volatile long previousHealth;
     private final int damage;
-    private final List<Immortal> population;
-    private final ScoreBoard scoreBoard;
-    private final PauseController controller;
+    private final AliveSet alive; // conjunto (su arena) del que elige oponentes y del que sale al morir
+    private final int arena;
+    private final SimulationContext ctx;
+    private final SplitMix64 rnd; // solo lo usa el hilo del inmortal
+    private final ReentrantLock lock = new ReentrantLock();
+    private final MpscQueue<ActorMessage> mailbox = new MpscQueue<>();
     private volatile boolean running = true;
+    private boolean retired; // solo lo toca el hilo del inmortal
 
     public Immortal(String name, int health, int damage, List<Immortal> population, ScoreBoard scoreBoard, PauseController controller) {
+        this(name, health, damage, population, scoreBoard, controller, ORDERED);
+    }
+
+    /**
+     * Constructor para inmortales sueltos (pruebas, benchmarks): los
+     * oponentes se eligen entre los inmortales de {@code population} al
+     * momento de crearlo.
+     */
+    public Immortal(String name, int health, int damage, List<Immortal> population, ScoreBoard scoreBoard,
+            PauseController controller, FightStrategy strategy) {
+        this(-1, name, health, damage, AliveSet.copyOf(population),
+                new SimulationContext(scoreBoard, controller, strategy, new SnapshotClock(), new PopulationStats()),
+                ThreadLocalRandom.current().nextLong());
+    }
+
+    Immortal(int id, String name, int health, int damage, AliveSet alive, SimulationContext ctx, long seed) {
+        this.id = id;
         this.name = Objects.requireNonNull(name);
-        this.health = health;
+        this.health = SnapshotClock.pack(0, health);
+        this.previousHealth = this.health;
         this.damage = damage;
-        this.population = Objects.requireNonNull(population);
-        this.scoreBoard = Objects.requireNonNull(scoreBoard);
-        this.controller = Objects.requireNonNull(controller);
+        this.alive = Objects.requireNonNull(alive);
+        this.ctx = Objects.requireNonNull(ctx);
+        this.arena = ctx.arenas == null ? 0 : ctx.arenas.arenaOf(id);
+        this.rnd = new SplitMix64(seed);
     }
 
     public String name() {
         return name;
     }
 
-    public synchronized int getHealth() {
-        return health;
+    /**
+     * Id del inmortal dentro de su población (índice en el ScoreBoard), o -1
+     * si se creó suelto.
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * Salud actual. Es una lectura volatile, sin monitor: un hilo virtual que
+     * la consulta nunca se bloquea ni fija su carrier.
+     */
+    public int getHealth() {
+        return health();
+    }
+
+    int health() {
+        return SnapshotClock.valueOf(health);
+    }
+
+    /*
+     * Salud vigente al cerrar la época {@code epoch} de un snapshot: si la
+     * celda se escribió en una época posterior, su valor anterior.
+     */
+    int healthAt(long epoch) {
+        long cell = health;
+        return SnapshotClock.valueOf(SnapshotClock.epochOf(cell) <= epoch ? cell : previousHealth);
+    }
+
+    /*
+     * Escribe la salud dentro de la época {@code epoch}; la primera escritura
+     * de cada época conserva el valor anterior para los snapshots en curso.
+     * También actualiza los agregados de la población.
+     */
+    private void writeHealth(int value, long epoch) {
+        long cell = health;
+        if (SnapshotClock.epochOf(cell) < epoch) {
+            previousHealth = cell;
+        }
+        health = SnapshotClock.pack(epoch, value);
+        ctx.stats.onHealthChange(SnapshotClock.valueOf(cell), value);
+    }
+
+    int damage() {
+        return damage;
+    }
+
+    /*
+     * Restaura salud y generador desde un checkpoint; solo antes de arrancar.
+     */
+    void restore(int value, long rngState) {
+        health = SnapshotClock.pack(0, value);
+        previousHealth = health;
+        rnd.setState(rngState);
+    }
+
+    /*
+     * Generador con el que elige oponentes; leerlo o cambiarlo solo con la
+     * simulación en pausa.
+     */
+    SplitMix64 random() {
+        return rnd;
+    }
+
+    ReentrantLock lock() {
+        return lock;
+    }
+
+    /*
+     * Orden total para tomar los locks de una pelea sin deadlock: por id y,
+     * entre inmortales sueltos (id -1), por nombre.
+     */
+    static boolean locksBefore(Immortal a, Immortal b) {
+        return a.id != b.id ? a.id < b.id : a.name.compareTo(b.name) < 0;
+    }
+
+    /*
+     * Las estrategias lo llaman al tener todos los locks de una pelea, con el
+     * instante en que empezaron a pedirlos.
+     */
+    void lockAcquired(long since) {
+        long wait = System.nanoTime() - since;
+        ctx.scoreBoard.recordLockWait(wait);
+        if (FlightEvents.enabled()) {
+            var event = new LockWaitEvent();
+            if (event.shouldCommit()) {
+                event.immortal = id;
+                event.waitNanos = wait;
+                event.commit();
+            }
+        }
     }
 
     public boolean isAlive() {
@@ -45,92 +170,275 @@ public final class Immortal implements Runnable {
         running = false;
     }
 
+    /*
+     * Ciclo de pelea. Al terminar (muerto o detenido) el hilo se desregistra
+     * del PauseController; del conjunto de vivos solo sale quien cae a 0, en
+     * el momento del golpe.
+     */
     @Override
     public void run() {
+        retired = false; // se registró de nuevo en este start()
         try {
             while (running) {
-                controller.awaitIfPaused();
+                ctx.controller.awaitIfPaused();
                 if (!running) {
                     break;
                 }
-                var opponent = pickOpponent();
-                if (opponent == null) {
+                ctx.strategy.onTurn(this);
+                if (health() <= 0) {
+                    break;
+                }
+                ctx.pacer.await(ctx.controller); // el ritmo se aplica antes de cada pelea, también la primera
+                if (!running) {
+                    break;
+                }
+                var opponent = ctx.arenas == null ? alive.sample(this, rnd) : ctx.arenas.pick(this, arena, rnd);
+                RemoteOpponents remote = ctx.remote;
+                if (remote != null && (opponent == null || challengesRemote(remote)) && fightRemote(remote)) {
                     continue;
                 }
-                String mode = System.getProperty("fight", "ordered");
-                if ("naive".equalsIgnoreCase(mode)) {
-                    fightNaive(opponent);
+                if (opponent != null) {
+                    var event = FlightEvents.enabled() ? new FightEvent() : null;
+                    if (event != null) {
+                        event.begin();
+                    }
+                    long start = System.nanoTime();
+                    ctx.strategy.fight(this, opponent);
+                    ctx.scoreBoard.recordFightDuration(System.nanoTime() - start);
+                    if (event != null && event.shouldCommit()) {
+                        event.attacker = id;
+                        event.defender = opponent.id;
+                        event.strategy = ctx.strategy.name();
+                        event.commit();
+                    }
                 } else {
-                    fightOrdered(opponent);
+                    Thread.sleep(1); // nadie contra quien pelear
                 }
-                Thread.sleep(2);
             }
         } catch (InterruptedException ie) {
             Thread.currentThread().interrupt();
+        } finally {
+            retire();
         }
     }
 
-    private Immortal pickOpponent() {
-        if (population.size() <= 1) {
-            return null;
+    private void retire() {
+        if (retired) {
+            return;
         }
-        Immortal other;
-        do {
-            other = population.get(ThreadLocalRandom.current().nextInt(population.size()));
-        } while (other == this);
-        return other;
+        retired = true;
+        ctx.controller.deregisterThread();
     }
 
-    /* 
-     * Metodo de pelea ingenuo que puede causar deadlocks.
-     * Se le implemento el condicional no permitir que la salud de un inmortal
-     * baje de 0.
-     */
-    private void fightNaive(Immortal other) {
-        synchronized (this) {
-            synchronized (other) {
-                if (this.health <= 0 || other.health <= 0) {
-                    return;
-                }
+    private boolean challengesRemote(RemoteOpponents remote) {
+        return (rnd.nextLong() >>> 11) * 0x1.0p-53 < remote.challengeRate();
+    }
 
-                if (other.health >= this.damage) {
-                    other.health -= this.damage;
-                    this.health += this.damage / 2;
-                } else {
-                    int actualDamage = other.health; // solo puede quitar lo que queda
-                    other.health = 0;
-                    this.health += actualDamage / 2;
+    /*
+     * Pelea contra un inmortal de otro shard: el golpe se aplica allá y aquí
+     * solo se acredita la mitad del daño causado, bajo el lock propio.
+     * Retorna false si no había rivales remotos.
+     */
+    private boolean fightRemote(RemoteOpponents remote) throws InterruptedException {
+        if (health() <= 0) {
+            return false;
+        }
+        long start = System.nanoTime();
+        RemoteOpponents.Strike result = remote.strike(id, damage, rnd.nextLong());
+        if (result == null) {
+            return false;
+        }
+        lock.lockInterruptibly();
+        try {
+            long epoch = ctx.clock.enter();
+            try {
+                int mine = health();
+                if (mine > 0) {
+                    writeHealth(mine + result.dealt() / 2, epoch);
                 }
+                ctx.scoreBoard.recordFight(id, result.dealt(), result.killed());
+            } finally {
+                ctx.clock.exit(epoch);
+            }
+        } finally {
+            lock.unlock();
+        }
+        ctx.scoreBoard.recordFightDuration(System.nanoTime() - start);
+        return true;
+    }
 
-                scoreBoard.recordFight();
+    /*
+     * Recibe el golpe de un inmortal de otro shard (ver RemoteOpponents) bajo
+     * el lock propio. Retorna null si ya estaba muerto; el defensor del
+     * resultado es el id local.
+     */
+    RemoteOpponents.Strike defend(int damage) {
+        lock.lock();
+        try {
+            long epoch = ctx.clock.enter();
+            try {
+                int theirs = health();
+                if (theirs <= 0) {
+                    return null;
+                }
+                int dealt = Math.min(theirs, damage);
+                writeHealth(theirs - dealt, epoch);
+                if (theirs == dealt) {
+                    alive.remove(this);
+                }
+                return new RemoteOpponents.Strike(id, dealt, theirs == dealt);
+            } finally {
+                ctx.clock.exit(epoch);
             }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Metodo de pelea ingenuo que puede causar deadlocks.
+     */
+    void fightNaive(Immortal other) {
+        try {
+            NAIVE.fight(this, other);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
         }
     }
 
     /*
      * Metodo de pelea ordenado que evita deadlocks al adquirir los locks en un
-     * orden consistente basado en el nombre del inmortal.
-     * Se le implemento el condicional no permitir que la salud de un inmortal
-     * baje de 0.
-     */
-    private void fightOrdered(Immortal other) {
-        Immortal first = this.name.compareTo(other.name) < 0 ? this : other;
-        Immortal second = this.name.compareTo(other.name) < 0 ? other : this;
-        synchronized (first) {
-            synchronized (second) {
-                if (this.health <= 0 || other.health <= 0) {
-                    return;
-                }
-                if (other.health >= this.damage) {
-                    other.health -= this.damage;
-                    this.health += this.damage / 2;
-                } else {
-                    int actualDamage = other.health;
-                    other.health = 0;
-                    this.health += actualDamage / 2;
+     * orden consistente (ver locksBefore).
+     */
+    void fightOrdered(Immortal other) {
+        try {
+            ORDERED.fight(this, other);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * Aplica el golpe de este inmortal sobre otro. El llamador (la estrategia
+     * de pelea) debe tener acceso exclusivo a ambos. La salud de un inmortal
+     * nunca baja de 0 y el atacante gana la mitad del daño realmente causado.
+     */
+    void strike(Immortal other) {
+        long epoch = ctx.clock.enter();
+        try {
+            int mine = this.health();
+            int theirs = other.health();
+            if (mine <= 0 || theirs <= 0) {
+                return;
+            }
+            int dealt = Math.min(theirs, this.damage); // solo puede quitar lo que queda
+            other.writeHealth(theirs - dealt, epoch);
+            this.writeHealth(mine + dealt / 2, epoch);
+            ctx.scoreBoard.recordFight(id, dealt, theirs == dealt);
+            FightJournal journal = ctx.journal;
+            if (journal != null) {
+                journal.recordFight(id, other.id, dealt);
+            }
+            if (theirs == dealt) {
+                other.alive.remove(other); // deja de ser elegible como oponente de inmediato
+            }
+        } finally {
+            ctx.clock.exit(epoch);
+        }
+    }
+
+    /*
+     * Reproduce un evento de un diario (ver FightJournal) con este inmortal
+     * como defensor: pierde {@code dealt} y, si {@code credit}, el atacante
+     * gana la mitad. Solo con la simulación detenida.
+     */
+    void replayHit(Immortal attacker, int dealt, boolean credit) {
+        long epoch = ctx.clock.enter();
+        try {
+            int theirs = health();
+            writeHealth(theirs - dealt, epoch);
+            if (credit) {
+                attacker.writeHealth(attacker.health() + dealt / 2, epoch);
+            }
+            ctx.scoreBoard.recordFight(attacker.id, dealt, theirs > 0 && theirs == dealt);
+            if (theirs > 0 && theirs == dealt) {
+                alive.remove(this);
+            }
+        } finally {
+            ctx.clock.exit(epoch);
+        }
+    }
+
+    /*
+     * Reproduce una curación del modo actor.
+     */
+    void replayHeal(int amount) {
+        long epoch = ctx.clock.enter();
+        try {
+            int current = health();
+            if (current > 0) {
+                writeHealth(current + amount, epoch);
+            }
+        } finally {
+            ctx.clock.exit(epoch);
+        }
+    }
+
+    /*
+     * Modo actor: encola un mensaje en el buzón de este inmortal. Lo puede
+     * llamar cualquier hilo.
+     */
+    void post(ActorMessage message) {
+        mailbox.offer(message);
+    }
+
+    /*
+     * Modo actor: procesa todos los mensajes pendientes. Solo lo llama el
+     * hilo dueño del inmortal (o el hilo que pausó, con todos detenidos), así
+     * que la salud tiene un único escritor. Retorna cuántos mensajes procesó.
+     */
+    int drainMailbox() {
+        int processed = 0;
+        ActorMessage m;
+        while ((m = mailbox.poll()) != null) {
+            processed++;
+            long epoch = ctx.clock.enter();
+            try {
+                apply(m, epoch);
+            } finally {
+                ctx.clock.exit(epoch);
+            }
+        }
+        return processed;
+    }
+
+    private void apply(ActorMessage m, long epoch) {
+        int current = health();
+        Immortal attacker = m.attacker();
+        FightJournal journal = ctx.journal;
+        if (attacker == null) {
+            if (current > 0) {
+                writeHealth(current + m.amount(), epoch);
+                if (journal != null) {
+                    journal.recordHeal(id, m.amount());
                 }
-                scoreBoard.recordFight();
             }
+            return;
+        }
+        if (current <= 0 || attacker.health() <= 0) {
+            return;
+        }
+        int dealt = Math.min(current, m.amount());
+        writeHealth(current - dealt, epoch);
+        ctx.scoreBoard.recordFight(attacker.id, dealt, current == dealt);
+        if (journal != null) {
+            journal.recordHit(attacker.id, id, dealt);
+        }
+        if (current == dealt) {
+            alive.remove(this);
+        }
+        if (dealt / 2 > 0) {
+            attacker.post(new ActorMessage(null, dealt / 2));
         }
     }
 }
@@ -3,25 +3,38 @@ package edu.eci.arsw.immortals;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import edu.eci.arsw.concurrency.PauseController;
 
-public final class ImmortalManager implements AutoCloseable {
+public final class ImmortalManager implements Simulation {
 
     private final List<Immortal> population = new CopyOnWriteArrayList<>();
+    private final Arenas arenas;
     private final List<Future<?>> futures = new ArrayList<>();
     private final PauseController controller = new PauseController();
-    private final ScoreBoard scoreBoard = new ScoreBoard();
+    private final ScoreBoard scoreBoard;
+    private final SnapshotClock clock = new SnapshotClock();
+    private final PopulationStats stats = new PopulationStats();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    // Un solo hilo vacía los buzones a la vez, aunque haya varios pause() concurrentes, y resume()
+    // espera a que termine
+    private final ReentrantLock quiesceLock = new ReentrantLock();
+    private final SimulationContext ctx;
     private ExecutorService exec;
 
-    private final String fightMode;
+    private final FightStrategy strategy;
     private final int initialHealth;
     private final int damage;
+    private final long seed;
 
     public ImmortalManager(int n, String fightMode) {
         this(n, fightMode, Integer.getInteger("health", 100), Integer.getInteger("damage", 10));
@@ -29,38 +42,112 @@ public final class ImmortalManager implements AutoCloseable {
 
     /**
      * Crea un nuevo ImmortalManager con n inmortales, cada uno con la salud
-     * inicial y el daño especificados. El modo de pelea puede ser "naive" u
-     * "ordered". Ademas se le asigna un registrador de pausas para controlar la
-     * ejecucion de los hilos.
+     * inicial y el daño especificados. El modo de pelea puede ser "ordered",
+     * "naive" o "trylock" (ver {@link FightStrategy#of(String)}).
      */
     public ImmortalManager(int n, String fightMode, int initialHealth, int damage) {
-        this.fightMode = fightMode;
+        this(n, FightStrategy.of(fightMode), initialHealth, damage);
+    }
+
+    /**
+     * Crea un nuevo ImmortalManager con n inmortales que pelean con la
+     * estrategia dada. Ademas se le asigna un registrador de pausas para
+     * controlar la ejecucion de los hilos.
+     */
+    public ImmortalManager(int n, FightStrategy strategy, int initialHealth, int damage) {
+        this(n, strategy, initialHealth, damage, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Igual que el anterior pero con una semilla fija: cada inmortal elige
+     * oponentes con su propio SplitMix64 derivado de {@code seed} y de su id,
+     * así que la secuencia de elecciones de cada uno es reproducible (el
+     * resultado global sigue dependiendo del entrelazado de los hilos).
+     */
+    public ImmortalManager(int n, FightStrategy strategy, int initialHealth, int damage, long seed) {
+        this(n, strategy, initialHealth, damage, seed, 1, 0);
+    }
+
+    /**
+     * Igual que el anterior pero con la población partida en {@code arenas}
+     * arenas de ids contiguos: cada inmortal pelea dentro de la suya y, con
+     * probabilidad {@code crossArenaRate}, desafía a uno de otra. Con una
+     * arena es el comportamiento de siempre.
+     */
+    public ImmortalManager(int n, FightStrategy strategy, int initialHealth, int damage, long seed,
+            int arenas, double crossArenaRate) {
+        this.seed = seed;
+        this.strategy = Objects.requireNonNull(strategy);
         this.initialHealth = initialHealth;
         this.damage = damage;
+        this.arenas = new Arenas(n, arenas, crossArenaRate);
+        this.scoreBoard = new ScoreBoard(n);
+        this.ctx = new SimulationContext(scoreBoard, controller, strategy, clock, stats, this.arenas);
+        List<Immortal> created = new ArrayList<>(n);
         for (int i = 0; i < n; i++) {
-            controller.registerThread();
-            population.add(new Immortal("Immortal-" + i, initialHealth, damage, population, scoreBoard, controller));
+            AliveSet arena = this.arenas.arena(this.arenas.arenaOf(i));
+            Immortal im = new Immortal(i, "Immortal-" + i, initialHealth, damage, arena, ctx,
+                    SplitMix64.seedFor(seed, i));
+            created.add(im);
+            if (initialHealth > 0) {
+                arena.add(im);
+            }
         }
+        population.addAll(created); // una sola copia del CopyOnWriteArrayList
+        stats.add(initialHealth, n);
     }
 
+    @Override
     public synchronized void start() {
+        start(Thread.ofVirtual().factory());
+    }
+
+    /**
+     * Inicia la simulación con un hilo por inmortal creado por la fábrica
+     * dada. Permite comparar hilos virtuales contra hilos de plataforma (por
+     * ejemplo desde los benchmarks JMH).
+     */
+    public synchronized void start(ThreadFactory factory) {
         if (exec != null) {
             stop();
         }
-        exec = Executors.newVirtualThreadPerTaskExecutor();
+        ctx.pacer.start();
+        exec = Executors.newThreadPerTaskExecutor(factory);
         for (Immortal im : population) {
+            controller.registerThread(); // antes de que exista el hilo: una pausa inmediata ya lo espera
             futures.add(exec.submit(im));
         }
     }
 
+    /**
+     * Pausa todos los hilos y, ya detenidos, deja que la estrategia aplique
+     * el trabajo pendiente (por ejemplo los buzones del modo actor) para que
+     * totalHealth() sea consistente.
+     */
+    @Override
     public void pause() {
         controller.pause();
+        quiesceLock.lock();
+        try {
+            if (controller.paused()) { // si ya reanudaron, los dueños volvieron a consumir
+                strategy.quiesce(population);
+            }
+        } finally {
+            quiesceLock.unlock();
+        }
     }
 
+    @Override
     public void resume() {
-        controller.resume();
+        quiesceLock.lock(); // no despertar a los dueños de los buzones mientras otro hilo los vacía
+        try {
+            controller.resume();
+        } finally {
+            quiesceLock.unlock();
+        }
     }
 
+    @Override
     public void stop() {
         if (exec == null) {
             return;
@@ -72,13 +159,16 @@ public final class ImmortalManager implements AutoCloseable {
         }
 
         // Reanudar todos los hilos pausados para que puedan salir del awaitIfPaused
-        controller.resume();
+        resume();
+        ctx.pacer.stop(); // y liberar a los que esperan su turno de pelea
 
         // Apagar el executor de forma ordenada
         exec.shutdown();
+        boolean terminated = false;
         try {
             // Esperar hasta 5 segundos para que todos los hilos terminen
-            if (!exec.awaitTermination(5, TimeUnit.SECONDS)) {
+            terminated = exec.awaitTermination(5, TimeUnit.SECONDS);
+            if (!terminated) {
                 // Si no terminan en tiempo, forzar apagado
                 exec.shutdownNow();
             }
@@ -87,34 +177,275 @@ public final class ImmortalManager implements AutoCloseable {
             Thread.currentThread().interrupt();
         }
         exec = null;
+        // Solo con todos los hilos terminados es seguro vaciar el trabajo pendiente
+        if (terminated) {
+            quiesceLock.lock();
+            try {
+                strategy.quiesce(population);
+            } finally {
+                quiesceLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return population.size();
     }
 
+    /**
+     * Número de inmortales vivos, en O(arenas): los muertos salen del
+     * conjunto de vivos de su arena en el momento en que caen a 0.
+     */
+    @Override
     public int aliveCount() {
-        int c = 0;
-        for (Immortal im : population) {
-            if (im.isAlive()) {
-                c++;
-            }
-        }
-        return c;
+        return arenas.aliveCount();
     }
 
+    /**
+     * Salud total en O(1) y sin locks a partir de los agregados
+     * incrementales. Es exacta con la simulación en pausa.
+     */
+    @Override
     public long totalHealth() {
-        long sum = 0;
-        for (Immortal im : population) {
-            sum += im.getHealth();
+        return stats.totalHealth();
+    }
+
+    @Override
+    public PopulationStats stats() {
+        return stats;
+    }
+
+    /**
+     * Modo exacto: pausa (si no lo estaba), recorre toda la población y
+     * reconcilia los agregados incrementales con el resultado.
+     */
+    @Override
+    public PopulationStats reconcileStats() {
+        boolean wasPaused = controller.paused();
+        pause();
+        try {
+            stats.reconcile(healthSnapshot());
+        } finally {
+            if (!wasPaused) {
+                resume();
+            }
         }
-        return sum;
+        return stats;
     }
 
     public List<Immortal> populationSnapshot() {
         return Collections.unmodifiableList(new ArrayList<>(population));
     }
 
+    /**
+     * Snapshot consistente de la salud sin pausar la simulación: el
+     * resultado corresponde a un único instante entre peleas (ninguna pelea
+     * queda a medias). Solo espera a las peleas que ya estaban en curso.
+     *
+     * En modo actor cada mensaje es atómico, pero las curaciones en vuelo
+     * (aún en un buzón) no se cuentan hasta que se procesan.
+     */
+    public HealthSnapshot snapshot() {
+        snapshotLock.lock();
+        try {
+            long epoch = clock.advance();
+            int[] health = new int[population.size()];
+            long total = 0;
+            int aliveNow = 0;
+            for (int i = 0; i < health.length; i++) {
+                int h = population.get(i).healthAt(epoch);
+                health[i] = h;
+                total += h;
+                if (h > 0) {
+                    aliveNow++;
+                }
+            }
+            return new HealthSnapshot(epoch, health, total, aliveNow);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public int[] healthSnapshot() {
+        int[] health = new int[population.size()];
+        for (int i = 0; i < health.length; i++) {
+            health[i] = population.get(i).health();
+        }
+        return health;
+    }
+
+    /**
+     * Checkpoint exacto: la simulación queda en pausa solo mientras se copian
+     * salud, contadores y generadores (sin E/S); escribir el archivo con
+     * {@link Checkpoint#write} ocurre ya reanudada.
+     */
+    @Override
+    public Checkpoint checkpoint() {
+        boolean wasPaused = controller.paused();
+        pause();
+        try {
+            return capture(healthSnapshot());
+        } finally {
+            if (!wasPaused) {
+                resume();
+            }
+        }
+    }
+
+    /**
+     * Checkpoint sin detener la simulación: la salud sale de un
+     * {@link #snapshot()} consistente; contadores y generadores se leen en
+     * caliente, así que pueden ir unas peleas adelantados respecto a ella.
+     */
+    public Checkpoint checkpointFromSnapshot() {
+        return capture(snapshot().health());
+    }
+
+    private Checkpoint capture(int[] health) {
+        long[] rng = new long[health.length];
+        for (int i = 0; i < rng.length; i++) {
+            rng[i] = population.get(i).random().state();
+        }
+        return new Checkpoint("objects", strategy.name(), initialHealth, damage, seed,
+                arenas.count(), arenas.crossArenaRate(),
+                scoreBoard.totalFights(), scoreBoard.totalKills(), scoreBoard.totalDamage(),
+                health, scoreBoard.perImmortalCounters(), rng);
+    }
+
+    /**
+     * Crea un manager, sin arrancar, con el estado de un checkpoint del motor
+     * "objects".
+     *
+     * @throws IllegalArgumentException si el checkpoint es de otro motor.
+     */
+    public static ImmortalManager restore(Checkpoint cp) {
+        if (!"objects".equals(cp.engine())) {
+            throw new IllegalArgumentException("Checkpoint is for engine " + cp.engine() + ", not objects");
+        }
+        var m = new ImmortalManager(cp.size(), FightStrategy.of(cp.fight()), cp.initialHealth(), cp.damage(),
+                cp.seed(), cp.arenas(), cp.crossArenaRate());
+        for (int i = 0; i < cp.size(); i++) {
+            Immortal im = m.population.get(i);
+            int h = cp.health()[i];
+            im.restore(h, cp.rng()[i]);
+            AliveSet arena = m.arenas.arena(m.arenas.arenaOf(i));
+            if (h > 0) {
+                arena.add(im);
+            } else {
+                arena.remove(im);
+            }
+        }
+        m.stats.reconcile(cp.health());
+        m.scoreBoard.restore(cp.totalFights(), cp.totalKills(), cp.totalDamage(), cp.perImmortal());
+        return m;
+    }
+
+    public int arenaCount() {
+        return arenas.count();
+    }
+
+    /**
+     * Veces que un inmortal eligió oponente de otra arena (desafíos o arenas
+     * sin rivales) desde que se creó el manager.
+     */
+    public long crossArenaChallenges() {
+        return arenas.crossArenaPicks();
+    }
+
+    Arenas arenas() {
+        return arenas;
+    }
+
+    /**
+     * Conecta la población con oponentes de otros shards (ver
+     * {@link RemoteOpponents}); solo antes de start(). Los golpes remotos se
+     * aplican con el ReentrantLock de cada inmortal, así que la estrategia
+     * tiene que pelear con esos locks: no sirven "actor" ni las de monitores.
+     *
+     * @throws IllegalArgumentException si la estrategia no es compatible.
+     */
+    public void connect(RemoteOpponents remote) {
+        if (strategy instanceof ActorFightStrategy || strategy instanceof MonitorFightStrategy) {
+            throw new IllegalArgumentException("Fight mode " + strategy.name() + " does not support remote opponents");
+        }
+        ctx.remote = remote;
+    }
+
+    /**
+     * Recibe el golpe de un inmortal de otro shard: elige un defensor vivo con
+     * los bits aleatorios {@code pick} y le aplica {@code damage} bajo su
+     * lock. Lo puede llamar cualquier hilo, también con la simulación en
+     * pausa (el atacante remoto está esperando la respuesta).
+     *
+     * @return el resultado con el id local del defensor, o null si no queda
+     * nadie vivo.
+     */
+    public RemoteOpponents.Strike defend(int damage, long pick) {
+        var rnd = new SplitMix64(pick);
+        for (int attempt = 0; attempt < 4; attempt++) { // el elegido pudo morir entre el muestreo y el lock
+            Immortal im = arenas.any(rnd);
+            if (im == null) {
+                return null;
+            }
+            RemoteOpponents.Strike result = im.defend(damage);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void pace(Pacer pacer) {
+        ctx.pacer = Objects.requireNonNull(pacer);
+    }
+
+    @Override
+    public Pacer pacer() {
+        return ctx.pacer;
+    }
+
+    /**
+     * Registra de aquí en adelante cada pelea en {@code journal} (null para
+     * dejar de registrar). Cerrar el diario es responsabilidad del llamador,
+     * después de {@link #stop()}.
+     */
+    public void journalTo(FightJournal journal) {
+        ctx.journal = journal;
+    }
+
+    /*
+     * Aplica un evento de un diario; lo usa FightJournalReader.replay con la
+     * simulación sin arrancar.
+     */
+    void replay(int attacker, int defender, int damage) {
+        Immortal target = population.get(defender);
+        if (attacker == FightJournal.NO_ATTACKER) {
+            target.replayHeal(damage);
+        } else {
+            target.replayHit(population.get(attacker), Math.abs(damage), damage >= 0);
+        }
+    }
+
+    public FightStrategy strategy() {
+        return strategy;
+    }
+
+    /**
+     * Semilla de la que se derivan los generadores de todos los inmortales.
+     */
+    public long seed() {
+        return seed;
+    }
+
+    @Override
     public ScoreBoard scoreBoard() {
         return scoreBoard;
     }
 
+    @Override
     public PauseController controller() {
         return controller;
     }
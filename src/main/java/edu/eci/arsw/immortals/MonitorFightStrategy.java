@@ -0,0 +1,53 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Implementación original (legado) de las peleas "ordered" y "naive" con
+ * monitores {@code synchronized}. En Java 21 un hilo virtual bloqueado en un
+ * monitor fija su carrier, así que con contención el paralelismo efectivo
+ * cae al número de carriers; se conserva para compararla (ver
+ * {@code PinningReport}).
+ */
+public final class MonitorFightStrategy implements FightStrategy {
+
+    private final boolean ordered;
+
+    private MonitorFightStrategy(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    /**
+     * Orden total por nombre: no puede haber deadlock.
+     */
+    public static MonitorFightStrategy ordered() {
+        return new MonitorFightStrategy(true);
+    }
+
+    /**
+     * Primero el atacante, luego el defensor: puede haber deadlock.
+     */
+    public static MonitorFightStrategy naive() {
+        return new MonitorFightStrategy(false);
+    }
+
+    @Override
+    public void fight(Immortal attacker, Immortal defender) {
+        Immortal first = attacker;
+        Immortal second = defender;
+        if (ordered && attacker.name().compareTo(defender.name()) > 0) {
+            first = defender;
+            second = attacker;
+        }
+        long start = System.nanoTime();
+        synchronized (first) {
+            synchronized (second) {
+                attacker.lockAcquired(start);
+                attacker.strike(defender);
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return ordered ? "ordered-monitor" : "naive-monitor";
+    }
+}
@@ -0,0 +1,33 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Pelea ingenua: toma primero el lock del atacante y luego el del defensor.
+ * Dos inmortales que se atacan mutuamente pueden quedar en deadlock (jstack
+ * lo reporta también para ReentrantLock); a diferencia de la versión con
+ * monitores ({@link MonitorFightStrategy#naive()}), stop() puede
+ * interrumpirlos.
+ */
+public final class NaiveFightStrategy implements FightStrategy {
+
+    @Override
+    public void fight(Immortal attacker, Immortal defender) throws InterruptedException {
+        long start = System.nanoTime();
+        attacker.lock().lockInterruptibly();
+        try {
+            defender.lock().lockInterruptibly();
+            try {
+                attacker.lockAcquired(start);
+                attacker.strike(defender);
+            } finally {
+                defender.lock().unlock();
+            }
+        } finally {
+            attacker.lock().unlock();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "naive";
+    }
+}
@@ -0,0 +1,35 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Pelea ordenada que evita deadlocks al tomar los ReentrantLock de ambos
+ * inmortales en un orden total (id y, entre inmortales sueltos, nombre). A
+ * diferencia de los monitores, un hilo virtual que espera un ReentrantLock
+ * se desmonta y no fija (pin) su carrier; la versión con synchronized sigue
+ * disponible como {@link MonitorFightStrategy#ordered()}.
+ */
+public final class OrderedFightStrategy implements FightStrategy {
+
+    @Override
+    public void fight(Immortal attacker, Immortal defender) throws InterruptedException {
+        Immortal first = Immortal.locksBefore(attacker, defender) ? attacker : defender;
+        Immortal second = first == attacker ? defender : attacker;
+        long start = System.nanoTime();
+        first.lock().lockInterruptibly();
+        try {
+            second.lock().lockInterruptibly();
+            try {
+                attacker.lockAcquired(start);
+                attacker.strike(defender);
+            } finally {
+                second.lock().unlock();
+            }
+        } finally {
+            first.lock().unlock();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "ordered";
+    }
+}
@@ -0,0 +1,113 @@
+package edu.eci.arsw.immortals;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * Ritmo de las peleas. Cada hilo de pelea llama a {@link #await} antes de
+ * cada pelea (también la primera), así que el throughput queda definido por
+ * el pacer y no por la granularidad de Thread.sleep.
+ *
+ * Modos (ver {@link #of(String)}):
+ * <ul>
+ * <li>{@code none}: sin pausa entre peleas (benchmarks).</li>
+ * <li>{@code sleep[:ms]}: el comportamiento original, un sleep fijo por
+ * pelea (2 ms por defecto).</li>
+ * <li>{@code rate:N}: límite global de N peleas/s con un token bucket
+ * compartido por todos los hilos.</li>
+ * <li>{@code rounds[:ms]}: rondas; un único planificador marca un tick
+ * cada {@code ms} y cada hilo pelea a lo sumo una vez por tick.</li>
+ * </ul>
+ */
+public interface Pacer {
+
+    Duration DEFAULT_SLEEP = Duration.ofMillis(2);
+
+    /**
+     * Espera lo que corresponda antes de la siguiente pelea. Si
+     * {@code controller} entra en pausa, el hilo se detiene en el safepoint
+     * desde aquí (a lo sumo tras un tick o un horizonte) y, al reanudar,
+     * sigue esperando su turno.
+     *
+     * @throws InterruptedException si el hilo es interrumpido mientras espera.
+     */
+    void await(PauseController controller) throws InterruptedException;
+
+    /**
+     * Lo llama la simulación al arrancar; por defecto no hace nada.
+     */
+    default void start() {
+    }
+
+    /**
+     * Lo llama la simulación al detenerse: libera a los hilos que estén
+     * esperando. Por defecto no hace nada.
+     */
+    default void stop() {
+    }
+
+    /**
+     * Descripción corta, en el mismo formato que acepta {@link #of(String)}.
+     */
+    String name();
+
+    static Pacer unthrottled() {
+        return UnthrottledPacer.INSTANCE;
+    }
+
+    static Pacer sleep(Duration perFight) {
+        return new SleepPacer(perFight);
+    }
+
+    static Pacer rate(double fightsPerSecond) {
+        return new TokenBucketPacer(fightsPerSecond, TokenBucketPacer.DEFAULT_BURST);
+    }
+
+    static Pacer rate(double fightsPerSecond, int burst) {
+        return new TokenBucketPacer(fightsPerSecond, burst);
+    }
+
+    static Pacer rounds(Duration tick) {
+        return new RoundPacer(tick);
+    }
+
+    /**
+     * Resuelve un pacer a partir de su descripción: "none", "sleep",
+     * "sleep:5", "rate:50000" o "rounds:10" (milisegundos). Si es null se usa
+     * "sleep" con {@link #DEFAULT_SLEEP}.
+     *
+     * @throws IllegalArgumentException si el modo no existe o el parámetro no
+     * es válido.
+     */
+    static Pacer of(String spec) {
+        String s = spec == null ? "sleep" : spec.trim().toLowerCase(Locale.ROOT);
+        int colon = s.indexOf(':');
+        String mode = colon < 0 ? s : s.substring(0, colon);
+        String arg = colon < 0 ? null : s.substring(colon + 1).trim();
+        try {
+            return switch (mode) {
+                case "none", "unthrottled" ->
+                    unthrottled();
+                case "sleep" ->
+                    sleep(arg == null ? DEFAULT_SLEEP : Duration.ofMillis(Long.parseLong(arg)));
+                case "rate" ->
+                    rate(Double.parseDouble(require(arg, spec)));
+                case "rounds" ->
+                    rounds(Duration.ofMillis(arg == null ? 10 : Long.parseLong(arg)));
+                default ->
+                    throw new IllegalArgumentException("Unknown pace: " + spec + " (use none|sleep[:ms]|rate:N|rounds[:ms])");
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid pace: " + spec, e);
+        }
+    }
+
+    private static String require(String arg, String spec) {
+        if (arg == null || arg.isEmpty()) {
+            throw new IllegalArgumentException("Pace needs a value: " + spec);
+        }
+        return arg;
+    }
+}
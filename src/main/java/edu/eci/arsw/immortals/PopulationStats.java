@@ -0,0 +1,103 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregados de la población mantenidos de forma incremental dentro de la
+ * sección crítica de cada pelea: salud total, vivos y marcas de salud
+ * mínima (entre los vivos) y máxima. Todo son contadores repartidos
+ * (LongAdder / LongAccumulator), así que escribir no compite entre hilos y
+ * leer es O(1) y sin locks.
+ *
+ * Mínimo y máximo son marcas de agua desde la última reconciliación (no
+ * bajan ni suben solas); {@link #reconcile} las deja exactas a partir de un
+ * recorrido completo hecho durante una pausa.
+ */
+public final class PopulationStats {
+
+    private final LongAdder totalHealth = new LongAdder();
+    private final LongAdder alive = new LongAdder();
+    private final LongAccumulator minHealth = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxHealth = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    /**
+     * Registra {@code count} inmortales nuevos con la salud dada.
+     */
+    void add(int health, int count) {
+        totalHealth.add((long) health * count);
+        if (health > 0 && count > 0) {
+            alive.add(count);
+            minHealth.accumulate(health);
+            maxHealth.accumulate(health);
+        }
+    }
+
+    /**
+     * Registra el cambio de salud de un inmortal; se llama en la misma
+     * sección crítica que la escritura.
+     */
+    void onHealthChange(int before, int after) {
+        totalHealth.add((long) after - before);
+        if (after > before) {
+            maxHealth.accumulate(after);
+        } else if (after > 0) {
+            minHealth.accumulate(after);
+        } else if (before > 0) {
+            alive.decrement();
+        }
+    }
+
+    /**
+     * Reemplaza los agregados por los valores exactos de {@code health}. Solo
+     * es correcto si nadie escribe mientras tanto (simulación en pausa).
+     */
+    void reconcile(int[] health) {
+        long total = 0;
+        long aliveNow = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int h : health) {
+            total += h;
+            if (h > 0) {
+                aliveNow++;
+                min = Math.min(min, h);
+                max = Math.max(max, h);
+            }
+        }
+        totalHealth.reset();
+        totalHealth.add(total);
+        alive.reset();
+        alive.add(aliveNow);
+        minHealth.reset();
+        minHealth.accumulate(min);
+        maxHealth.reset();
+        maxHealth.accumulate(max);
+    }
+
+    public long totalHealth() {
+        return totalHealth.sum();
+    }
+
+    public int aliveCount() {
+        return (int) alive.sum();
+    }
+
+    /**
+     * Menor salud observada entre los vivos desde la última reconciliación,
+     * o 0 si no hay datos.
+     */
+    public int minHealth() {
+        long min = minHealth.get();
+        return min == Long.MAX_VALUE ? 0 : (int) min;
+    }
+
+    /**
+     * Mayor salud observada desde la última reconciliación, o 0 si no hay
+     * datos.
+     */
+    public int maxHealth() {
+        long max = maxHealth.get();
+        return max == Long.MIN_VALUE ? 0 : (int) max;
+    }
+}
@@ -0,0 +1,37 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Oponentes que viven fuera de esta simulación, por ejemplo en otros
+ * procesos que alojan otros shards de la población (ver
+ * {@link ImmortalManager#connect}). El inmortal no toma ningún lock remoto:
+ * el shard dueño elige al defensor, le aplica el golpe bajo su propio lock y
+ * responde cuánto daño causó; el atacante gana la mitad al recibir la
+ * respuesta, igual que en {@link Immortal#strike}.
+ */
+public interface RemoteOpponents {
+
+    /**
+     * Resultado de un golpe remoto: id global del defensor, daño causado y si
+     * lo mató.
+     */
+    record Strike(int defender, int dealt, boolean killed) {
+    }
+
+    /**
+     * Probabilidad de pelear contra otro shard aunque haya rivales locales.
+     * Sin rivales locales el inmortal siempre intenta uno remoto.
+     */
+    double challengeRate();
+
+    /**
+     * Golpea con {@code damage} a un inmortal vivo de otro shard y espera la
+     * respuesta. {@code pick} son bits aleatorios del generador del atacante
+     * con los que se eligen el shard y el defensor.
+     *
+     * @param attacker id (local) del atacante.
+     * @return el resultado, o null si no se conoce ningún rival remoto vivo
+     * (o el shard se está cerrando).
+     * @throws InterruptedException si el hilo es interrumpido mientras espera.
+     */
+    Strike strike(int attacker, int damage, long pick) throws InterruptedException;
+}
@@ -0,0 +1,107 @@
+package edu.eci.arsw.immortals;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * Rondas: un único hilo planificador marca un tick cada {@code tick} y
+ * despierta a todos; cada hilo de pelea espera el siguiente tick antes de
+ * pelear, así que pelea a lo sumo una vez por ronda. En vez de miles de
+ * timers (uno por sleep) hay uno solo.
+ *
+ * Una pausa espera como mucho un tick a que los hilos salgan de aquí.
+ */
+final class RoundPacer implements Pacer {
+
+    private final long tickNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition ticked = lock.newCondition();
+    private long round; // protegido por lock
+    private boolean stopped; // protegido por lock
+    private ScheduledExecutorService scheduler;
+
+    RoundPacer(Duration tick) {
+        this.tickNanos = Objects.requireNonNull(tick).toNanos();
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tick must be > 0");
+        }
+    }
+
+    @Override
+    public void await(PauseController controller) throws InterruptedException {
+        controller.awaitIfPaused();
+        lock.lockInterruptibly();
+        try {
+            long r = round;
+            while (round == r && !stopped) {
+                ticked.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ronda actual (número de ticks desde que se creó).
+     */
+    long round() {
+        lock.lock();
+        try {
+            return round;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void tick() {
+        lock.lock();
+        try {
+            round++;
+            ticked.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        lock.lock();
+        try {
+            stopped = false;
+        } finally {
+            lock.unlock();
+        }
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().daemon().name("round-pacer").factory());
+            scheduler.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        lock.lock();
+        try {
+            stopped = true;
+            ticked.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "rounds:" + TimeUnit.NANOSECONDS.toMillis(tickNanos);
+    }
+}
@@ -0,0 +1,382 @@
+package edu.eci.arsw.immortals;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.metrics.FightEvent;
+import edu.eci.arsw.metrics.FlightEvents;
+
+/**
+ * Motor por rondas sincronizadas (bulk-synchronous): en cada ronda se arma un
+ * emparejamiento aleatorio de los vivos y cada pareja pelea una sola vez, el
+ * primero atacando al segundo; con un número impar de vivos uno descansa.
+ * Como las parejas son disjuntas, las peleas corren en paralelo en un
+ * ForkJoinPool sin ningún lock, con la misma aritmética que fightOrdered: la
+ * salud nunca baja de 0 y el atacante gana la mitad del daño causado.
+ *
+ * El emparejamiento de la ronda r depende solo de la semilla y de r: cada
+ * vivo recibe una clave aleatoria derivada de (semilla, r, id) y se ordenan
+ * en paralelo. Así el resultado (salud y ScoreBoard) es idéntico para la
+ * misma semilla sin importar el número de hilos ni su entrelazado.
+ *
+ * Un único hilo conductor lanza las rondas y pasa por el PauseController
+ * entre una y otra, así que una pausa espera a lo sumo una ronda. El pacer se
+ * aplica una vez por ronda.
+ */
+public final class RoundPopulation implements Simulation {
+
+    // Elementos por tarea hoja: por debajo de esto no vale la pena repartir
+    static final int GRAIN = 4096;
+    private static final long KEY_MASK = 0xFFFF_FFFF_0000_0000L;
+
+    private final int[] health;
+    private final int initialHealth;
+    private final int damage;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final PauseController controller = new PauseController();
+    private final ScoreBoard scoreBoard;
+    private final PopulationStats stats = new PopulationStats();
+    // Vivos al inicio de la siguiente ronda y claves del emparejamiento; solo
+    // los toca quien corre las rondas (el conductor, o runRounds)
+    private final int[] alive;
+    private final long[] keys;
+    private int aliveCount;
+    private volatile long rounds;
+    private volatile Pacer pacer = Pacer.unthrottled();
+    private volatile boolean running;
+    private Thread driver;
+
+    public RoundPopulation(int n, int initialHealth, int damage) {
+        this(n, initialHealth, damage, Runtime.getRuntime().availableProcessors(), 0);
+    }
+
+    /**
+     * @param parallelism hilos del ForkJoinPool que corre las peleas.
+     * @param seed semilla de la que sale el emparejamiento de cada ronda.
+     */
+    public RoundPopulation(int n, int initialHealth, int damage, int parallelism, long seed) {
+        if (n < 2) {
+            throw new IllegalArgumentException("Population must have at least 2 immortals");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.health = new int[n];
+        Arrays.fill(health, initialHealth);
+        this.initialHealth = initialHealth;
+        this.damage = damage;
+        this.seed = seed;
+        this.pool = new ForkJoinPool(parallelism);
+        this.alive = new int[n];
+        this.keys = new long[n];
+        this.scoreBoard = new ScoreBoard(n);
+        stats.add(initialHealth, n);
+        collectAlive();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (driver != null) {
+            stop();
+        }
+        running = true;
+        pacer.start();
+        controller.registerThread();
+        driver = Thread.ofPlatform().daemon().name("rounds-driver").start(this::drive);
+    }
+
+    private void drive() {
+        try {
+            while (running) {
+                controller.awaitIfPaused();
+                if (!running) {
+                    break;
+                }
+                if (aliveCount < 2) {
+                    Thread.sleep(1); // nada que pelear, solo esperamos stop/pause
+                    continue;
+                }
+                pacer.await(controller);
+                if (running) {
+                    round();
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            controller.deregisterThread();
+        }
+    }
+
+    /**
+     * Corre {@code count} rondas en el hilo que llama (o hasta que quede un
+     * solo vivo); solo con la simulación detenida. Útil para pruebas y
+     * benchmarks reproducibles.
+     *
+     * @return el número de rondas completadas desde la creación.
+     * @throws IllegalStateException si la simulación está corriendo.
+     */
+    public synchronized long runRounds(int count) {
+        if (running) {
+            throw new IllegalStateException("Simulation is running");
+        }
+        for (int r = 0; r < count && aliveCount >= 2; r++) {
+            round();
+        }
+        return rounds;
+    }
+
+    /*
+     * Una ronda: claves aleatorias en paralelo, orden paralelo, peleas de las
+     * parejas (keys[2p] ataca a keys[2p+1]) en paralelo y, ya sin hilos
+     * trabajando, se compacta la lista de vivos.
+     */
+    private void round() {
+        int n = aliveCount;
+        int pairs = n / 2;
+        long roundSeed = SplitMix64.seedFor(seed, rounds);
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            new Slice(0, n, (lo, hi) -> {
+                for (int k = lo; k < hi; k++) {
+                    int id = alive[k];
+                    keys[k] = (SplitMix64.seedFor(roundSeed, id) & KEY_MASK) | id;
+                }
+            }).invoke();
+            Arrays.parallelSort(keys, 0, n); // dentro del pool: reparte en sus mismos hilos
+            new Slice(0, pairs, (lo, hi) -> {
+                for (int p = lo; p < hi; p++) {
+                    fight((int) keys[2 * p], (int) keys[2 * p + 1]);
+                }
+            }).invoke();
+        }));
+        collectAlive();
+        rounds = rounds + 1;
+    }
+
+    private void collectAlive() {
+        int m = 0;
+        for (int id = 0; id < health.length; id++) {
+            if (health[id] > 0) {
+                alive[m++] = id;
+            }
+        }
+        aliveCount = m;
+    }
+
+    /*
+     * Pelea sin locks: ningún otro hilo toca a i ni a j en esta ronda.
+     */
+    void fight(int i, int j) {
+        int hi = health[i];
+        int hj = health[j];
+        if (hi <= 0 || hj <= 0) {
+            return;
+        }
+        var event = FlightEvents.enabled() ? new FightEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        int dealt = Math.min(hj, damage);
+        health[j] = hj - dealt;
+        health[i] = hi + dealt / 2;
+        stats.onHealthChange(hj, hj - dealt);
+        stats.onHealthChange(hi, hi + dealt / 2);
+        scoreBoard.recordFight(i, dealt, hj == dealt);
+        if (event != null && event.shouldCommit()) {
+            event.attacker = i;
+            event.defender = j;
+            event.strategy = "rounds";
+            event.commit();
+        }
+    }
+
+    private interface Range {
+        void run(int lo, int hi);
+    }
+
+    /*
+     * Parte [lo, hi) a la mitad hasta GRAIN y corre cada hoja.
+     */
+    private static final class Slice extends RecursiveAction {
+
+        private final int lo;
+        private final int hi;
+        private final Range body;
+
+        Slice(int lo, int hi, Range body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= GRAIN) {
+                body.run(lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Slice(lo, mid, body), new Slice(mid, hi, body));
+        }
+    }
+
+    @Override
+    public void pause() {
+        controller.pause();
+    }
+
+    @Override
+    public void resume() {
+        controller.resume();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (driver == null) {
+            return;
+        }
+        running = false;
+        controller.resume();
+        pacer.stop();
+        try {
+            driver.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        driver = null;
+    }
+
+    /**
+     * Detiene la simulación y apaga el ForkJoinPool; después ya no se puede
+     * volver a usar.
+     */
+    @Override
+    public void close() {
+        stop();
+        pool.shutdown();
+    }
+
+    /**
+     * Rondas completadas.
+     */
+    public long rounds() {
+        return rounds;
+    }
+
+    @Override
+    public int size() {
+        return health.length;
+    }
+
+    @Override
+    public int aliveCount() {
+        return stats.aliveCount();
+    }
+
+    /**
+     * Salud actual del inmortal con el id dado (lectura sin lock).
+     */
+    public int health(int id) {
+        return health[id];
+    }
+
+    @Override
+    public long totalHealth() {
+        return stats.totalHealth();
+    }
+
+    @Override
+    public PopulationStats stats() {
+        return stats;
+    }
+
+    @Override
+    public PopulationStats reconcileStats() {
+        boolean wasPaused = controller.paused();
+        pause();
+        try {
+            stats.reconcile(health);
+        } finally {
+            if (!wasPaused) {
+                resume();
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Checkpoint exacto entre dos rondas. En lugar de generadores guarda el
+     * número de rondas, que es todo lo que define los emparejamientos
+     * siguientes.
+     */
+    @Override
+    public Checkpoint checkpoint() {
+        boolean wasPaused = controller.paused();
+        pause();
+        try {
+            return new Checkpoint("rounds", "rounds", initialHealth, damage, seed, 1, 0,
+                    scoreBoard.totalFights(), scoreBoard.totalKills(), scoreBoard.totalDamage(),
+                    health.clone(), scoreBoard.perImmortalCounters(), new long[] {rounds});
+        } finally {
+            if (!wasPaused) {
+                resume();
+            }
+        }
+    }
+
+    /**
+     * Crea una población, sin arrancar, con el estado de un checkpoint del
+     * motor "rounds"; sigue con exactamente los mismos emparejamientos.
+     *
+     * @throws IllegalArgumentException si el checkpoint es de otro motor.
+     */
+    public static RoundPopulation restore(Checkpoint cp) {
+        if (!"rounds".equals(cp.engine())) {
+            throw new IllegalArgumentException("Checkpoint is for engine " + cp.engine() + ", not rounds");
+        }
+        var p = new RoundPopulation(cp.size(), cp.initialHealth(), cp.damage(),
+                Runtime.getRuntime().availableProcessors(), cp.seed());
+        System.arraycopy(cp.health(), 0, p.health, 0, cp.size());
+        p.rounds = cp.rng()[0];
+        p.collectAlive();
+        p.stats.reconcile(p.health);
+        p.scoreBoard.restore(cp.totalFights(), cp.totalKills(), cp.totalDamage(), cp.perImmortal());
+        return p;
+    }
+
+    @Override
+    public int[] healthSnapshot() {
+        return health.clone();
+    }
+
+    @Override
+    public ScoreBoard scoreBoard() {
+        return scoreBoard;
+    }
+
+    /**
+     * Por defecto sin pausa entre rondas. El pacer se aplica una vez por
+     * ronda: {@code sleep:ms} duerme entre rondas, {@code rate:N} limita a N
+     * rondas/s y {@code rounds:ms} lanza una ronda por tick.
+     */
+    @Override
+    public void pace(Pacer pacer) {
+        this.pacer = Objects.requireNonNull(pacer);
+    }
+
+    @Override
+    public Pacer pacer() {
+        return pacer;
+    }
+
+    @Override
+    public PauseController controller() {
+        return controller;
+    }
+}
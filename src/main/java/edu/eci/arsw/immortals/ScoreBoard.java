@@ -1,9 +1,199 @@
 package edu.eci.arsw.immortals;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 
+import edu.eci.arsw.metrics.LatencyHistogram;
+
+/**
+ * Marcador de la simulación. Ningún contador es un único AtomicLong compartido: los totales son
+ * LongAdder, las estadísticas por inmortal viven en slots de un AtomicLongArray indexado por id
+ * (cada slot lo escribe casi siempre un solo hilo) y las latencias en histogramas por cubetas.
+ * Todas las lecturas son sin lock y nunca bloquean a quien registra.
+ */
 public final class ScoreBoard {
-  private final AtomicLong totalFights = new AtomicLong();
-  public void recordFight() { totalFights.incrementAndGet(); }
-  public long totalFights() { return totalFights.get(); }
+  // fights, kills, damage y relleno hasta 64 bytes: una línea de caché por inmortal
+  private static final int STRIDE = 8;
+  private static final int FIGHTS = 0, KILLS = 1, DAMAGE = 2;
+  // Cada inmortal intenta tomar una muestra de la tasa una vez cada 256 de sus peleas
+  private static final long SAMPLE_MASK = 255;
+  private static final int RATE_SAMPLES = 64;
+  private static final long SAMPLE_PERIOD = TimeUnit.SECONDS.toNanos(1);
+
+  private final LongAdder totalFights = new LongAdder();
+  private final LongAdder totalKills = new LongAdder();
+  private final LongAdder totalDamage = new LongAdder();
+  private final int capacity;
+  private final AtomicLongArray perImmortal;
+  private final LatencyHistogram lockWait = new LatencyHistogram();
+  private final LatencyHistogram fightDuration = new LatencyHistogram();
+
+  // Muestras (instante, total de peleas) una por segundo para las tasas móviles; las escribe el
+  // hilo que gana el CAS sobre nextSample, sea un escritor de vez en cuando o un lector. origin y
+  // originTotal son el punto de partida de las tasas: la creación, o la restauración de un checkpoint.
+  private volatile long origin = System.nanoTime();
+  private volatile long originTotal;
+  private final AtomicLong nextSample = new AtomicLong(origin + SAMPLE_PERIOD);
+  private final AtomicLongArray sampleTimes = new AtomicLongArray(RATE_SAMPLES);
+  private final AtomicLongArray sampleTotals = new AtomicLongArray(RATE_SAMPLES);
+  private final AtomicLong samples = new AtomicLong();
+
+  /** Marcador sin estadísticas por inmortal. */
+  public ScoreBoard() { this(0); }
+
+  /** @param capacity número de ids (0..capacity-1) con estadísticas por inmortal. */
+  public ScoreBoard(int capacity) {
+    if (capacity < 0) throw new IllegalArgumentException("capacity must be >= 0");
+    this.capacity = capacity;
+    this.perImmortal = new AtomicLongArray(capacity * STRIDE);
+  }
+
+  public void recordFight() { recordFight(-1, 0, false); }
+
+  /**
+   * Registra una pelea ganada por {@code attackerId}; ids fuera de rango (por ejemplo inmortales
+   * sueltos sin id) solo cuentan en los totales.
+   */
+  public void recordFight(int attackerId, int damageDealt, boolean kill) {
+    totalFights.increment();
+    totalDamage.add(damageDealt);
+    if (kill) totalKills.increment();
+    if (attackerId >= 0 && attackerId < capacity) {
+      int base = attackerId * STRIDE;
+      long before = perImmortal.getAndIncrement(base + FIGHTS);
+      perImmortal.getAndAdd(base + DAMAGE, damageDealt);
+      if (kill) perImmortal.getAndIncrement(base + KILLS);
+      if ((before & SAMPLE_MASK) == 0) maybeSample(); // nanoTime solo de vez en cuando
+    }
+  }
+
+  public void recordLockWait(long nanos) { lockWait.record(nanos); }
+  public void recordFightDuration(long nanos) { fightDuration.record(nanos); }
+
+  public long totalFights() { return totalFights.sum(); }
+  public long totalKills() { return totalKills.sum(); }
+  public long totalDamage() { return totalDamage.sum(); }
+  public int capacity() { return capacity; }
+
+  public long fights(int id) { return slot(id, FIGHTS); }
+  public long kills(int id) { return slot(id, KILLS); }
+  public long damageDealt(int id) { return slot(id, DAMAGE); }
+
+  /** Tiempo desde que se intenta tomar los locks de una pelea hasta tenerlos todos. */
+  public LatencyHistogram lockWait() { return lockWait; }
+  /** Duración completa de cada llamada a la estrategia de pelea. */
+  public LatencyHistogram fightDuration() { return fightDuration; }
+
+  /** Ids con más peleas ganadas, de mayor a menor (a lo sumo {@code k}). */
+  public int[] hottest(int k) {
+    if (k <= 0) return new int[0];
+    // min-heap de tamaño k: O(n log k) aunque la población sea enorme
+    PriorityQueue<long[]> top = new PriorityQueue<>(Comparator.<long[]>comparingLong(e -> e[1]).thenComparingLong(e -> -e[0]));
+    for (int id = 0; id < capacity; id++) {
+      long f = fights(id);
+      if (top.size() < k) top.add(new long[] { id, f });
+      else if (f > top.peek()[1]) { top.poll(); top.add(new long[] { id, f }); }
+    }
+    int[] ids = new int[top.size()];
+    for (int i = ids.length - 1; i >= 0; i--) ids[i] = (int) top.poll()[0];
+    return ids;
+  }
+
+  /**
+   * Peleas por segundo en la ventana móvil de los últimos {@code seconds} segundos (a lo sumo
+   * {@value #RATE_SAMPLES}); si la simulación lleva menos tiempo, se usa el tiempo transcurrido.
+   */
+  public double fightsPerSecond(int seconds) {
+    if (seconds < 1 || seconds > RATE_SAMPLES) throw new IllegalArgumentException("seconds must be in [1, " + RATE_SAMPLES + "]");
+    maybeSample();
+    long now = System.nanoTime();
+    long total = totalFights.sum();
+    long since = now - TimeUnit.SECONDS.toNanos(seconds);
+    long n = samples.get();
+    // sin muestras anteriores a la ventana, el inicio del marcador (mientras siga dentro del anillo)
+    long baseTime = n < RATE_SAMPLES ? origin : now, baseTotal = n < RATE_SAMPLES ? originTotal : total;
+    long oldest = Math.max(0, n - RATE_SAMPLES + 1);
+    for (long s = n - 1; s >= oldest; s--) {
+      int idx = (int) (s % RATE_SAMPLES);
+      long t = sampleTimes.get(idx);
+      long v = sampleTotals.get(idx);
+      if (t == 0 || sampleTimes.get(idx) != t) break; // muestra a medio escribir
+      if (t <= since) {
+        baseTime = t;
+        baseTotal = v;
+        break;
+      }
+      if (s == oldest && n >= RATE_SAMPLES) {
+        baseTime = t;
+        baseTotal = v;
+      }
+    }
+    long elapsed = now - baseTime;
+    return elapsed <= 0 ? 0 : (total - baseTotal) * 1e9 / elapsed;
+  }
+
+  public double fightsPerSecond1s() { return fightsPerSecond(1); }
+  public double fightsPerSecond10s() { return fightsPerSecond(10); }
+  public double fightsPerSecond60s() { return fightsPerSecond(60); }
+
+  /* Peleas, muertes y daño de cada id, tres por id (para checkpoints). */
+  long[] perImmortalCounters() {
+    long[] out = new long[capacity * 3];
+    for (int id = 0; id < capacity; id++) {
+      out[id * 3] = fights(id);
+      out[id * 3 + 1] = kills(id);
+      out[id * 3 + 2] = damageDealt(id);
+    }
+    return out;
+  }
+
+  /*
+   * Restaura los contadores de un checkpoint; solo antes de arrancar la simulación. Las tasas vuelven
+   * a empezar aquí: solo cuentan las peleas posteriores a la restauración.
+   */
+  void restore(long fights, long kills, long damage, long[] perImmortal) {
+    totalFights.reset();
+    totalFights.add(fights);
+    totalKills.reset();
+    totalKills.add(kills);
+    totalDamage.reset();
+    totalDamage.add(damage);
+    int ids = Math.min(capacity, perImmortal.length / 3);
+    for (int id = 0; id < ids; id++) {
+      this.perImmortal.set(id * STRIDE + FIGHTS, perImmortal[id * 3]);
+      this.perImmortal.set(id * STRIDE + KILLS, perImmortal[id * 3 + 1]);
+      this.perImmortal.set(id * STRIDE + DAMAGE, perImmortal[id * 3 + 2]);
+    }
+    long now = System.nanoTime();
+    originTotal = fights;
+    origin = now;
+    samples.set(0);
+    nextSample.set(now + SAMPLE_PERIOD);
+  }
+
+  private long slot(int id, int field) {
+    return id >= 0 && id < capacity ? perImmortal.get(id * STRIDE + field) : 0;
+  }
+
+  private void maybeSample() {
+    long next = nextSample.get();
+    long now = System.nanoTime();
+    if (now - next < 0 || !nextSample.compareAndSet(next, now + SAMPLE_PERIOD)) return;
+    int idx = (int) (samples.get() % RATE_SAMPLES);
+    sampleTimes.set(idx, 0);
+    sampleTotals.set(idx, totalFights.sum());
+    sampleTimes.set(idx, now);
+    samples.incrementAndGet();
+  }
+
+  @Override
+  public String toString() {
+    return "fights=" + totalFights() + " kills=" + totalKills() + " damage=" + totalDamage()
+        + " hottest=" + Arrays.toString(hottest(3));
+  }
 }
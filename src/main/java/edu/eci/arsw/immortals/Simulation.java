@@ -0,0 +1,132 @@
+package edu.eci.arsw.immortals;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * Ciclo de vida y lecturas comunes a los motores de simulación. Permite
+ * cambiar el motor (un objeto e hilo por inmortal, o arreglos primitivos con
+ * un pool fijo de workers) sin cambiar a quien lo controla.
+ */
+public interface Simulation extends AutoCloseable {
+
+    void start();
+
+    void pause();
+
+    void resume();
+
+    void stop();
+
+    /**
+     * Número total de inmortales (vivos y muertos).
+     */
+    int size();
+
+    int aliveCount();
+
+    long totalHealth();
+
+    /**
+     * Copia de la salud de cada inmortal indexada por id. Es consistente si
+     * se toma con la simulación en pausa.
+     */
+    int[] healthSnapshot();
+
+    /**
+     * Agregados mantenidos incrementalmente (salud total, vivos, mín/máx);
+     * lecturas O(1) y sin locks.
+     */
+    PopulationStats stats();
+
+    /**
+     * Pausa (si hace falta), recorre toda la población y deja los agregados
+     * exactos.
+     */
+    PopulationStats reconcileStats();
+
+    ScoreBoard scoreBoard();
+
+    /**
+     * Cambia el ritmo de las peleas (ver {@link Pacer}); solo antes de
+     * start().
+     */
+    void pace(Pacer pacer);
+
+    Pacer pacer();
+
+    PauseController controller();
+
+    /**
+     * Estado completo (salud, contadores, generadores) para guardarlo con
+     * {@link Checkpoint#write}. Pausa solo mientras copia los arreglos.
+     */
+    Checkpoint checkpoint();
+
+    /**
+     * Recrea, sin arrancar, la simulación de un checkpoint con el motor que
+     * lo produjo.
+     */
+    static Simulation restore(Checkpoint cp) {
+        return switch (cp.engine()) {
+            case "objects" ->
+                ImmortalManager.restore(cp);
+            case "arrays" ->
+                ArrayPopulation.restore(cp);
+            case "rounds" ->
+                RoundPopulation.restore(cp);
+            default ->
+                throw new IllegalArgumentException("Unknown engine in checkpoint: " + cp.engine());
+        };
+    }
+
+    @Override
+    default void close() {
+        stop();
+    }
+
+    /**
+     * Crea un motor por nombre: "objects" (ImmortalManager, un hilo virtual
+     * por inmortal), "arrays" (ArrayPopulation, salud en un int[] y un
+     * worker por núcleo) o "rounds" (RoundPopulation, rondas de parejas
+     * disjuntas en un ForkJoinPool). Los motores "arrays" y "rounds" tienen
+     * su propia forma de pelear, así que ignoran {@code fightMode}.
+     *
+     * @throws IllegalArgumentException si el motor no existe.
+     */
+    static Simulation of(String engine, int n, String fightMode, int initialHealth, int damage) {
+        return of(engine, n, fightMode, initialHealth, damage, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Igual que {@link #of(String, int, String, int, int)} con una semilla
+     * fija para la elección de oponentes.
+     */
+    static Simulation of(String engine, int n, String fightMode, int initialHealth, int damage, long seed) {
+        return of(engine, n, fightMode, initialHealth, damage, seed, 1, 0);
+    }
+
+    /**
+     * Igual que el anterior, con la población del motor "objects" partida en
+     * arenas (ver {@link ImmortalManager#ImmortalManager(int, FightStrategy,
+     * int, int, long, int, double)}). Los demás motores las ignoran.
+     */
+    static Simulation of(String engine, int n, String fightMode, int initialHealth, int damage, long seed,
+            int arenas, double crossArenaRate) {
+        String e = engine == null ? "objects" : engine.trim().toLowerCase(Locale.ROOT);
+        return switch (e) {
+            case "objects" ->
+                new ImmortalManager(n, FightStrategy.of(fightMode), initialHealth, damage, seed, arenas,
+                        crossArenaRate);
+            case "arrays" ->
+                new ArrayPopulation(n, initialHealth, damage, Runtime.getRuntime().availableProcessors(),
+                        ArrayPopulation.DEFAULT_STRIPES, seed);
+            case "rounds" ->
+                new RoundPopulation(n, initialHealth, damage, Runtime.getRuntime().availableProcessors(), seed);
+            default ->
+                throw new IllegalArgumentException("Unknown engine: " + engine + " (use objects|arrays|rounds)");
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package edu.eci.arsw.immortals;
+
+import java.util.Objects;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * Colaboradores compartidos por todos los inmortales de una simulación.
+ */
+final class SimulationContext {
+
+    final ScoreBoard scoreBoard;
+    final PauseController controller;
+    final FightStrategy strategy;
+    final SnapshotClock clock;
+    final PopulationStats stats;
+    final Arenas arenas; // null: inmortales sueltos, eligen solo de su AliveSet
+    volatile FightJournal journal; // null: sin diario
+    volatile Pacer pacer = Pacer.sleep(Pacer.DEFAULT_SLEEP);
+    volatile RemoteOpponents remote; // null: sin shards remotos
+
+    SimulationContext(ScoreBoard scoreBoard, PauseController controller, FightStrategy strategy, SnapshotClock clock,
+            PopulationStats stats) {
+        this(scoreBoard, controller, strategy, clock, stats, null);
+    }
+
+    SimulationContext(ScoreBoard scoreBoard, PauseController controller, FightStrategy strategy, SnapshotClock clock,
+            PopulationStats stats, Arenas arenas) {
+        this.scoreBoard = Objects.requireNonNull(scoreBoard);
+        this.controller = Objects.requireNonNull(controller);
+        this.strategy = Objects.requireNonNull(strategy);
+        this.clock = Objects.requireNonNull(clock);
+        this.stats = Objects.requireNonNull(stats);
+        this.arenas = arenas;
+    }
+}
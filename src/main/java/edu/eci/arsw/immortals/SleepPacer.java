@@ -0,0 +1,33 @@
+package edu.eci.arsw.immortals;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * El ritmo original: un Thread.sleep fijo antes de cada pelea. Cada hilo
+ * queda limitado a unas 1/sleep peleas por segundo y el throughput total
+ * depende del número de hilos y de la granularidad del reloj.
+ */
+final class SleepPacer implements Pacer {
+
+    private final Duration perFight;
+
+    SleepPacer(Duration perFight) {
+        if (Objects.requireNonNull(perFight).isNegative()) {
+            throw new IllegalArgumentException("sleep must be >= 0");
+        }
+        this.perFight = perFight;
+    }
+
+    @Override
+    public void await(PauseController controller) throws InterruptedException {
+        Thread.sleep(perFight);
+    }
+
+    @Override
+    public String name() {
+        return "sleep:" + perFight.toMillis();
+    }
+}
@@ -0,0 +1,100 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Reloj de épocas para snapshots MVCC sin detener la simulación.
+ *
+ * Cada pelea corre dentro de una época ({@link #enter()} / {@link #exit})
+ * y etiqueta con ella las celdas de salud que escribe; la celda guarda
+ * además su valor anterior. Un snapshot avanza la época, espera solo a las
+ * peleas que ya estaban en curso en la época vieja y luego lee, por cada
+ * celda, el valor vigente en esa época. Las peleas nuevas nunca esperan.
+ *
+ * Los contadores de peleas en curso están repartidos por hilo (stripes con
+ * padding) para que entrar y salir no compitan por una misma línea de caché.
+ */
+final class SnapshotClock {
+
+    private static final int STRIPES = 64;
+    private static final int PAD = 8; // 8 longs = 64 bytes por stripe
+
+    private volatile long epoch = 0;
+    // [paridad][stripe]: peleas en curso por paridad de época
+    private final AtomicLongArray[] active = {
+        new AtomicLongArray(STRIPES * PAD), new AtomicLongArray(STRIPES * PAD)
+    };
+
+    /**
+     * Entra a la época actual y la retorna. Debe cerrarse con exit.
+     */
+    long enter() {
+        int slot = slot();
+        while (true) {
+            long e = epoch;
+            AtomicLongArray counters = active[(int) (e & 1)];
+            counters.getAndIncrement(slot);
+            if (epoch == e) {
+                return e;
+            }
+            counters.getAndDecrement(slot); // un snapshot avanzó la época: reintentar
+        }
+    }
+
+    void exit(long e) {
+        active[(int) (e & 1)].getAndDecrement(slot());
+    }
+
+    /**
+     * Avanza la época y espera a que terminen las peleas de la época
+     * anterior. Retorna la época cerrada: toda celda con etiqueta menor o
+     * igual a ella es visible en el snapshot. Los llamadores deben
+     * serializarse entre sí.
+     */
+    long advance() {
+        long closed = epoch;
+        epoch = closed + 1;
+        AtomicLongArray counters = active[(int) (closed & 1)];
+        int spins = 0;
+        while (inFlight(counters) != 0) {
+            if (++spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        return closed;
+    }
+
+    long epoch() {
+        return epoch;
+    }
+
+    /*
+     * Un hilo siempre usa el mismo stripe, así que cada stripe nunca es menor
+     * que sus peleas en curso: si la suma da 0, todas terminaron.
+     */
+    private static long inFlight(AtomicLongArray counters) {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += counters.get(i * PAD);
+        }
+        return sum;
+    }
+
+    private static int slot() {
+        return (int) (Thread.currentThread().threadId() & (STRIPES - 1)) * PAD;
+    }
+
+    static long pack(long epoch, int value) {
+        return (epoch << 32) | (value & 0xFFFF_FFFFL);
+    }
+
+    static long epochOf(long cell) {
+        return cell >>> 32;
+    }
+
+    static int valueOf(long cell) {
+        return (int) cell;
+    }
+}
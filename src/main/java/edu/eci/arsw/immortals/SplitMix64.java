@@ -0,0 +1,65 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Generador pseudoaleatorio SplitMix64: un solo {@code long} de estado, así
+ * que se puede sembrar, guardar y restaurar exactamente ({@link #state()}).
+ * No es thread-safe: cada hilo (cada inmortal o cada worker) usa el suyo.
+ */
+public final class SplitMix64 {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Semilla derivada para el flujo número {@code stream} (por ejemplo el id
+     * de un inmortal): flujos distintos quedan bien separados aunque las
+     * semillas base sean consecutivas.
+     */
+    public static long seedFor(long seed, long stream) {
+        return mix(seed + GOLDEN_GAMMA * (stream + 1));
+    }
+
+    public long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * Entero uniforme en [0, bound) sin sesgo (método de Lemire).
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        long m = (nextLong() >>> 32) * bound;
+        if ((m & 0xFFFFFFFFL) < bound) {
+            long threshold = (0x1_0000_0000L - bound) % bound;
+            while ((m & 0xFFFFFFFFL) < threshold) {
+                m = (nextLong() >>> 32) * bound;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    /**
+     * Estado actual; {@code new SplitMix64(state())} continúa exactamente la
+     * misma secuencia.
+     */
+    public long state() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,84 @@
+package edu.eci.arsw.immortals;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * Límite global de peleas por segundo compartido por todos los hilos, como
+ * un token bucket con ráfaga de {@code burst} peleas. Se implementa con GCRA:
+ * un único AtomicLong guarda el instante teórico de la próxima pelea, así
+ * que tomar un turno es un CAS y no hay hilo que rellene el balde.
+ *
+ * Cada hilo reserva el siguiente turno y duerme justo hasta él (se despierta
+ * una vez por pelea), pero nunca reserva más allá de {@link #HORIZON_NANOS}:
+ * si el horizonte está lleno duerme a lo sumo un horizonte (con algo de azar
+ * para no despertar todos juntos) y vuelve a intentar. Así una pausa o un
+ * stop esperan a lo sumo un horizonte aunque el intervalo entre peleas sea
+ * mucho mayor (un segundo con {@code rate:1}); durante una pausa el hilo se
+ * detiene aquí mismo.
+ */
+final class TokenBucketPacer implements Pacer {
+
+    static final int DEFAULT_BURST = 16;
+    static final long HORIZON_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final double fightsPerSecond;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+    private volatile boolean stopped;
+
+    TokenBucketPacer(double fightsPerSecond, int burst) {
+        if (!(fightsPerSecond > 0)) {
+            throw new IllegalArgumentException("rate must be > 0");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be >= 1");
+        }
+        this.fightsPerSecond = fightsPerSecond;
+        this.intervalNanos = Math.max(1, Math.round(1e9 / fightsPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    @Override
+    public void await(PauseController controller) throws InterruptedException {
+        while (!stopped) {
+            controller.awaitIfPaused(); // tras una pausa igual hay que esperar turno
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long slot = Math.max(tat, now - toleranceNanos); // la holgura es la ráfaga acumulada
+            long ahead = slot - now;
+            if (ahead > HORIZON_NANOS) {
+                long jittered = ahead - HORIZON_NANOS + ThreadLocalRandom.current().nextLong(HORIZON_NANOS);
+                TimeUnit.NANOSECONDS.sleep(Math.min(jittered, HORIZON_NANOS)); // sin pasar del safepoint
+                continue;
+            }
+            if (theoreticalArrival.compareAndSet(tat, slot + intervalNanos)) {
+                if (ahead > 0) {
+                    TimeUnit.NANOSECONDS.sleep(ahead);
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        stopped = false;
+        theoreticalArrival.set(System.nanoTime());
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+    }
+
+    @Override
+    public String name() {
+        return String.format(Locale.ROOT, "rate:%.0f", fightsPerSecond);
+    }
+}
@@ -0,0 +1,58 @@
+package edu.eci.arsw.immortals;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pelea con {@code tryLock(timeout)} y backoff aleatorio, igual que
+ * TransferService.transferTryLock: nunca se bloquea indefinidamente y, si no
+ * consigue ambos locks antes de {@code maxWait}, la pelea se descarta.
+ */
+public final class TryLockFightStrategy implements FightStrategy {
+
+    static final Duration DEFAULT_MAX_WAIT = Duration.ofMillis(100);
+
+    private final long maxWaitNanos;
+
+    public TryLockFightStrategy() {
+        this(DEFAULT_MAX_WAIT);
+    }
+
+    public TryLockFightStrategy(Duration maxWait) {
+        this.maxWaitNanos = Objects.requireNonNull(maxWait).toNanos();
+    }
+
+    @Override
+    public void fight(Immortal attacker, Immortal defender) throws InterruptedException {
+        ReentrantLock a = attacker.lock();
+        ReentrantLock b = defender.lock();
+        long start = System.nanoTime();
+        long deadline = start + maxWaitNanos;
+        while (System.nanoTime() < deadline) {
+            if (a.tryLock(10, TimeUnit.MILLISECONDS)) {
+                try {
+                    if (b.tryLock(10, TimeUnit.MILLISECONDS)) {
+                        try {
+                            attacker.lockAcquired(start);
+                            attacker.strike(defender);
+                            return;
+                        } finally {
+                            b.unlock();
+                        }
+                    }
+                } finally {
+                    a.unlock();
+                }
+            }
+            Thread.sleep(ThreadLocalRandom.current().nextInt(1, 5));
+        }
+    }
+
+    @Override
+    public String name() {
+        return "trylock";
+    }
+}
@@ -0,0 +1,23 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * Sin pausa entre peleas: cada hilo pelea tan rápido como puede.
+ */
+final class UnthrottledPacer implements Pacer {
+
+    static final UnthrottledPacer INSTANCE = new UnthrottledPacer();
+
+    private UnthrottledPacer() {
+    }
+
+    @Override
+    public void await(PauseController controller) {
+    }
+
+    @Override
+    public String name() {
+        return "none";
+    }
+}
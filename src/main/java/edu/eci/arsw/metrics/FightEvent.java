@@ -0,0 +1,32 @@
+package edu.eci.arsw.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de una pelea completa (pedir los locks + golpe). Deshabilitado
+ * por defecto: sin grabación activa begin/commit no hacen nada y el JIT
+ * elimina la asignación del evento.
+ */
+@Name("edu.eci.arsw.Fight")
+@Label("Fight")
+@Category({"Immortals", "Simulation"})
+@Description("Una pelea entre dos inmortales, incluida la espera por los locks")
+@Enabled(false)
+@StackTrace(false)
+public final class FightEvent extends Event {
+
+    @Label("Attacker")
+    public int attacker;
+
+    @Label("Defender")
+    public int defender;
+
+    @Label("Strategy")
+    public String strategy;
+}
@@ -0,0 +1,54 @@
+package edu.eci.arsw.metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+/**
+ * Los eventos JFR propios del proyecto. Todos vienen deshabilitados; se
+ * activan desde una grabación, ya sea por línea de comandos
+ * ({@code -XX:StartFlightRecording:+edu.eci.arsw.Fight#enabled=true,...}) o
+ * con {@link #start(Path)}.
+ *
+ * Crear el primer evento inicializa JFR (cerca de medio segundo), así que los
+ * caminos calientes solo los crean si {@link #enabled()}.
+ */
+public final class FlightEvents {
+
+    public static final List<Class<? extends Event>> EVENTS = List.of(
+            FightEvent.class, LockWaitEvent.class, SafepointEvent.class, ResumeEvent.class, TransferEvent.class);
+
+    private FlightEvents() {
+    }
+
+    /**
+     * true si JFR ya se inicializó (alguna grabación arrancó, por línea de
+     * comandos o con la API); una sola lectura volatile. Mientras sea false
+     * ningún evento puede grabarse y no vale la pena crearlo.
+     */
+    public static boolean enabled() {
+        return FlightRecorder.isInitialized();
+    }
+
+    /**
+     * Inicia una grabación con los eventos del proyecto y, para cruzarlos,
+     * {@code jdk.VirtualThreadPinned} y {@code jdk.JavaMonitorEnter} sin
+     * umbral. Los datos se escriben en {@code destination} al detenerla.
+     */
+    public static Recording start(Path destination) throws IOException {
+        Recording recording = new Recording();
+        recording.setName("immortals");
+        for (Class<? extends Event> type : EVENTS) {
+            recording.enable(type).withoutThreshold();
+        }
+        recording.enable("jdk.VirtualThreadPinned").withoutThreshold().withStackTrace();
+        recording.enable("jdk.JavaMonitorEnter").withoutThreshold();
+        recording.setDestination(destination);
+        recording.start();
+        return recording;
+    }
+}
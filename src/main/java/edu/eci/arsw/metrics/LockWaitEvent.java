@@ -0,0 +1,31 @@
+package edu.eci.arsw.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR emitido al conseguir todos los locks (monitores, ReentrantLock o
+ * stripes) de una pelea. La espera viaja en {@code waitNanos} porque quien la
+ * mide solo conoce el instante en que empezó a pedirlos.
+ */
+@Name("edu.eci.arsw.LockWait")
+@Label("Lock Wait")
+@Category({"Immortals", "Locks"})
+@Description("Tiempo esperando los locks de una pelea")
+@Enabled(false)
+@StackTrace(false)
+public final class LockWaitEvent extends Event {
+
+    @Label("Immortal")
+    public int immortal;
+
+    @Label("Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    public long waitNanos;
+}
@@ -0,0 +1,28 @@
+package edu.eci.arsw.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de PauseController.resume(), con los hilos que estaban detenidos
+ * en el safepoint y se despiertan.
+ */
+@Name("edu.eci.arsw.Resume")
+@Label("Resume")
+@Category({"Immortals", "Pause"})
+@Description("Reanudación de los hilos detenidos en el safepoint")
+@Enabled(false)
+@StackTrace(false)
+public final class ResumeEvent extends Event {
+
+    @Label("Epoch")
+    public long epoch;
+
+    @Label("Woken Threads")
+    public int woken;
+}
@@ -0,0 +1,28 @@
+package edu.eci.arsw.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de PauseController.pause(): su duración es el time-to-safepoint,
+ * desde que se pide la pausa hasta que el último hilo registrado se detiene.
+ */
+@Name("edu.eci.arsw.Safepoint")
+@Label("Time To Safepoint")
+@Category({"Immortals", "Pause"})
+@Description("Pausa cooperativa hasta que todos los hilos se detienen")
+@Enabled(false)
+@StackTrace(false)
+public final class SafepointEvent extends Event {
+
+    @Label("Epoch")
+    public long epoch;
+
+    @Label("Threads")
+    public int threads;
+}
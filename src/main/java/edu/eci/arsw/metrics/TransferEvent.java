@@ -0,0 +1,70 @@
+package edu.eci.arsw.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de una transferencia de TransferService (o AdaptiveTransfer),
+ * desde que se piden los locks hasta que se aplica o falla.
+ */
+@Name("edu.eci.arsw.Transfer")
+@Label("Transfer")
+@Category({"Immortals", "Transfers"})
+@Description("Una transferencia entre cuentas")
+@Enabled(false)
+@StackTrace(false)
+public final class TransferEvent extends Event {
+
+    @Label("From")
+    public long from;
+
+    @Label("To")
+    public long to;
+
+    @Label("Amount")
+    public long amount;
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Retries")
+    public int retries;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    /**
+     * Evento ya iniciado, o null si JFR no está activo (ver
+     * {@link FlightEvents#enabled()}).
+     */
+    public static TransferEvent started() {
+        if (!FlightEvents.enabled()) {
+            return null;
+        }
+        var event = new TransferEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Completa y confirma {@code event} (el de {@link #started()}, quizá
+     * null) solo si hay una grabación que lo pida.
+     */
+    public static void end(TransferEvent event, String strategy, long from, long to, long amount, int retries,
+            boolean succeeded) {
+        if (event != null && event.shouldCommit()) {
+            event.strategy = strategy;
+            event.from = from;
+            event.to = to;
+            event.amount = amount;
+            event.retries = retries;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+}
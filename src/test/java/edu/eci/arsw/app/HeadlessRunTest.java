@@ -0,0 +1,52 @@
+package edu.eci.arsw.app;
+
+import java.io.StringWriter;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+final class HeadlessRunTest {
+
+    /*
+     * Prueba que una corrida corta sin UI produce la curva de vivos, mide las
+     * pausas y deja totales finales coherentes en el JSON y el CSV.
+     */
+    @Test
+    void shortRunProducesReport() throws Exception {
+        var o = new HeadlessRun.Options("objects", 20, 1000, 10, "ordered", Duration.ofMillis(500),
+                Duration.ofMillis(100), 7, Duration.ofMillis(100), Duration.ofMillis(200), null);
+        HeadlessRun.Report r = HeadlessRun.run(o);
+
+        assertTrue(r.fights() > 0, "Debe haber peleas en la ventana medida");
+        assertTrue(r.curve().size() >= 3, "La curva debe tener varias muestras");
+        assertTrue(r.pauses() >= 1, "Debe medir al menos una pausa");
+        assertTrue(r.finalAlive() >= 1 && r.finalAlive() <= 20);
+        assertEquals(r.finalTotalHealth(), r.curve().get(r.curve().size() - 1).totalHealth());
+
+        String json = HeadlessRun.toJson(r);
+        assertTrue(json.contains("\"fightsPerSecond\"") && json.contains("\"seed\": 7"));
+        var csv = new StringWriter();
+        HeadlessRun.writeSummaryCsv(r, csv);
+        assertEquals(2, csv.toString().lines().count(), "Encabezado y una fila");
+    }
+
+    /*
+     * Prueba que pauseEvery=0 desactiva las pausas periodicas sin dejar la
+     * corrida dormida mas alla de su duracion.
+     */
+    @Test
+    void zeroPauseEveryDisablesPeriodicPauses() throws Exception {
+        var o = new HeadlessRun.Options("objects", 20, 1000, 10, "ordered", Duration.ofMillis(300),
+                Duration.ofMillis(50), 7, Duration.ofMillis(100), Duration.ZERO, null);
+        var result = new HeadlessRun.Report[1];
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            result[0] = HeadlessRun.run(o);
+        }, "La corrida debe terminar a tiempo");
+
+        assertEquals(0, result[0].pauses(), "Sin pausas periódicas");
+        assertTrue(result[0].curve().size() >= 3, "La curva se sigue muestreando");
+    }
+}
@@ -0,0 +1,31 @@
+package edu.eci.arsw.app;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+final class PinningReportTest {
+
+    /*
+     * Prueba que el reporte corre ambas implementaciones con hilos virtuales,
+     * cuenta peleas en la ventana medida y que la versión con ReentrantLock
+     * no registra esperas de monitor.
+     */
+    @Test
+    @Timeout(60)
+    void comparesMonitorAndLockStrategies() throws Exception {
+        var o = new PinningReport.Options(50, 100_000, 1, Duration.ofMillis(300), Duration.ofMillis(100), 3,
+                List.of("ordered-monitor", "ordered"));
+        List<PinningReport.Row> rows = PinningReport.run(o);
+        assertEquals(2, rows.size());
+        for (PinningReport.Row r : rows) {
+            assertTrue(r.fights() > 0, r.strategy());
+            assertTrue(r.carrierBlockedNanos() >= 0, r.strategy());
+        }
+        assertEquals(0, rows.get(1).monitorEnters(), "ReentrantLock no usa monitores");
+    }
+}
@@ -0,0 +1,69 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+final class DeadlockDetectorTest {
+
+    /*
+     * Prueba que un deadlock clasico entre dos hilos (A luego B contra B
+     * luego A) se detecta, se reporta con ambos recursos, aborta solo a la
+     * victima (el de mayor id) y el otro hilo termina su trabajo.
+     */
+    @Test
+    @Timeout(10)
+    void detectsCycleAndAbortsOnlyTheVictim() throws Exception {
+        var reports = new CopyOnWriteArrayList<DeadlockDetector.Report>();
+        var detector = new DeadlockDetector(true, TimeUnit.MILLISECONDS.toNanos(1), reports::add);
+        var a = new ReentrantLock();
+        var b = new ReentrantLock();
+        var bothHoldFirst = new CountDownLatch(2);
+        var completed = new AtomicInteger();
+        var aborted = new AtomicInteger();
+
+        Thread t1 = Thread.ofPlatform().unstarted(() -> cross(detector, a, "A", b, "B", bothHoldFirst, completed, aborted));
+        Thread t2 = Thread.ofPlatform().unstarted(() -> cross(detector, b, "B", a, "A", bothHoldFirst, completed, aborted));
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+
+        assertEquals(1, completed.get(), "El hilo que no es victima termina");
+        assertEquals(1, aborted.get(), "Solo la victima aborta");
+        assertEquals(1, detector.detected());
+        assertEquals(1, reports.size());
+        DeadlockDetector.Report r = reports.get(0);
+        assertEquals(2, r.threads().size());
+        assertTrue(r.resources().contains("A") && r.resources().contains("B"));
+        long victimId = Math.max(t1.threadId(), t2.threadId());
+        assertTrue(r.victim().endsWith("#" + victimId), "La victima es el hilo de mayor id");
+    }
+
+    private static void cross(DeadlockDetector d, ReentrantLock first, String firstName, ReentrantLock second,
+            String secondName, CountDownLatch bothHoldFirst, AtomicInteger completed, AtomicInteger aborted) {
+        try {
+            d.lock(first, firstName);
+            try {
+                bothHoldFirst.countDown();
+                bothHoldFirst.await();
+                d.lock(second, secondName);
+                d.unlock(second);
+                completed.incrementAndGet();
+            } finally {
+                d.unlock(first);
+            }
+        } catch (DeadlockException e) {
+            aborted.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
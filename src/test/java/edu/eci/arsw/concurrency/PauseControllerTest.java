@@ -0,0 +1,137 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+final class PauseControllerTest {
+
+    /*
+     * Prueba que pause() no retorna hasta que todos los hilos registrados
+     * estan detenidos, y que mide el tiempo hasta el safepoint.
+     */
+    @Test
+    void pauseWaitsForEveryThreadAndReportsTimeToSafepoint() throws Exception {
+        int threads = 16;
+        var controller = new PauseController();
+        var counter = new AtomicLong();
+        var started = new CountDownLatch(threads);
+        try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threads; i++) {
+                controller.registerThread();
+                exec.submit(() -> {
+                    started.countDown();
+                    try {
+                        while (!Thread.currentThread().isInterrupted()) {
+                            controller.awaitIfPaused();
+                            counter.incrementAndGet();
+                            Thread.sleep(1);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        controller.deregisterThread();
+                    }
+                    return null;
+                });
+            }
+            started.await();
+
+            long tts = controller.pause();
+            assertTrue(controller.paused());
+            assertEquals(1, controller.epoch() & 1, "La época es impar mientras hay pausa");
+            assertTrue(tts > 0 && tts == controller.lastTimeToSafepointNanos());
+            long before = counter.get();
+            Thread.sleep(50);
+            assertEquals(before, counter.get(), "Ningún hilo avanza durante la pausa");
+
+            controller.resume();
+            assertFalse(controller.paused());
+            Thread.sleep(50);
+            assertTrue(counter.get() > before, "Los hilos avanzan después de resume");
+            exec.shutdownNow();
+        }
+    }
+
+    /*
+     * Prueba que un hilo que se desregistra durante una pausa no deja a
+     * pause() esperando por el.
+     */
+    @Test
+    void deregisteredThreadDoesNotBlockPause() {
+        var controller = new PauseController();
+        controller.registerThread();
+        controller.registerThread();
+        controller.deregisterThread();
+        controller.deregisterThread();
+        controller.pause(); // sin hilos registrados no debe bloquearse
+        assertTrue(controller.paused());
+        controller.resume();
+        assertFalse(controller.paused());
+    }
+
+    /*
+     * Prueba que si dos hilos piden la pausa a la vez, ninguno retorna antes
+     * de que todos los hilos registrados esten detenidos.
+     */
+    @Test
+    void concurrentPausersBothWaitForSafepoint() throws Exception {
+        int threads = 8;
+        var controller = new PauseController();
+        var fighting = new AtomicInteger();
+        var started = new CountDownLatch(threads);
+        try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threads; i++) {
+                controller.registerThread();
+                exec.submit(() -> {
+                    started.countDown();
+                    try {
+                        while (!Thread.currentThread().isInterrupted()) {
+                            controller.awaitIfPaused();
+                            fighting.incrementAndGet();
+                            try {
+                                Thread.sleep(20); // una "pelea" larga entre safepoints
+                            } finally {
+                                fighting.decrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        controller.deregisterThread();
+                    }
+                    return null;
+                });
+            }
+            started.await();
+
+            try {
+                var go = new CountDownLatch(1);
+                Future<Integer> first = exec.submit(() -> {
+                    go.await();
+                    controller.pause();
+                    return fighting.get();
+                });
+                Future<Integer> second = exec.submit(() -> {
+                    go.await();
+                    controller.pause();
+                    return fighting.get();
+                });
+                go.countDown();
+                assertEquals(0, (int) first.get(), "El primer pause() retorna con todos detenidos");
+                assertEquals(0, (int) second.get(), "El segundo pause() también espera el safepoint");
+                assertTrue(controller.paused());
+            } finally {
+                controller.resume(); // libera a un pause() atascado si la prueba falla
+                exec.shutdownNow();
+            }
+        }
+    }
+}
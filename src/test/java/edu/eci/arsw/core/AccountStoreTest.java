@@ -0,0 +1,65 @@
+package edu.eci.arsw.core;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+final class AccountStoreTest {
+
+    /*
+     * Prueba que con pocos stripes (muchas cuentas comparten stripe, y a
+     * veces origen y destino caen en el mismo) las transferencias
+     * concurrentes ordenadas y con tryLock conservan el dinero total sin
+     * deadlocks.
+     */
+    @Test
+    @Timeout(30)
+    void concurrentTransfersConserveMoney() throws Exception {
+        var store = new AccountStore(10_000, 100, 4);
+        assertEquals(4, store.stripes());
+        try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 8; t++) {
+                boolean tryLock = t % 2 == 0;
+                exec.submit(() -> {
+                    var rnd = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5_000; i++) {
+                        int from = rnd.nextInt(store.size());
+                        int to = rnd.nextInt(store.size());
+                        try {
+                            if (tryLock) {
+                                store.transferTryLock(from, to, rnd.nextInt(1, 50), Duration.ofSeconds(1));
+                            } else {
+                                store.transferOrdered(from, to, rnd.nextInt(1, 50));
+                            }
+                        } catch (IllegalArgumentException insufficient) {
+                            // fondos insuficientes: la transferencia no se aplica
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        assertEquals(10_000L * 100, store.totalBalance());
+    }
+
+    /*
+     * Prueba la semantica de una transferencia: fondos insuficientes no
+     * cambian nada y una cuenta consigo misma no se bloquea.
+     */
+    @Test
+    void transferSemantics() {
+        var store = new AccountStore(3, 10, 1);
+        store.transferOrdered(0, 1, 10);
+        assertEquals(0, store.balance(0));
+        assertEquals(20, store.balance(1));
+        assertThrows(IllegalArgumentException.class, () -> store.transferOrdered(0, 2, 1));
+        store.transferOrdered(2, 2, 5);
+        assertEquals(10, store.balance(2));
+        assertEquals(30, store.totalBalance());
+    }
+}
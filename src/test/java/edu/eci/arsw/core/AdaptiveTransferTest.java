@@ -0,0 +1,88 @@
+package edu.eci.arsw.core;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+final class AdaptiveTransferTest {
+
+    /*
+     * Prueba que sin contención toda transferencia va por el camino rápido:
+     * sin reintentos ni caídas al modo ordenado.
+     */
+    @Test
+    void uncontendedTransfersTakeFastPath() {
+        var policy = new AdaptiveTransfer();
+        var a = new BankAccount(1, 100);
+        var b = new BankAccount(2, 100);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(0, policy.transfer(a, b, 1));
+        }
+        assertEquals(50, policy.fastPath());
+        assertEquals(0, policy.retries());
+        assertEquals(0, policy.fallbacks());
+        assertEquals(50, a.balance());
+        assertFalse(policy.isHot(a));
+    }
+
+    /*
+     * Prueba que una cuenta bloqueada por otro hilo se vuelve caliente: la
+     * transferencia reintenta con backoff solo hasta que la cuenta supera el
+     * umbral, cae al orden por id (esperando el lock) y termina en cuanto el
+     * otro hilo lo suelta.
+     */
+    @Test
+    @Timeout(10)
+    void heldAccountBecomesHotAndFallsBack() throws Exception {
+        var policy = new AdaptiveTransfer(4, 10, Duration.ofMillis(1));
+        var a = new BankAccount(1, 100);
+        var b = new BankAccount(2, 100);
+        b.lock().lock();
+        Thread t = Thread.ofPlatform().start(() -> policy.transfer(a, b, 10));
+        while (policy.fallbacks() == 0) {
+            Thread.sleep(1);
+        }
+        b.lock().unlock();
+        t.join();
+        assertEquals(2, policy.retries()); // cada fallo suma 2: caliente antes de agotar los 10 intentos
+        assertEquals(1, policy.fallbacks());
+        assertTrue(policy.isHot(b), "contention=" + b.contention());
+        assertEquals(110, b.balance());
+    }
+
+    /*
+     * Prueba que con muchos hilos sobre pocas cuentas el dinero se conserva
+     * y no hay deadlock aunque se mezclen camino rápido y modo ordenado.
+     */
+    @Test
+    @Timeout(30)
+    void concurrentTransfersConserveMoney() throws Exception {
+        var policy = new AdaptiveTransfer();
+        var accounts = new BankAccount[4];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = new BankAccount(i, 10_000);
+        }
+        try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 16; t++) {
+                exec.submit(() -> {
+                    var rnd = ThreadLocalRandom.current();
+                    for (int i = 0; i < 2_000; i++) {
+                        policy.transfer(accounts[rnd.nextInt(4)], accounts[rnd.nextInt(4)], 1);
+                    }
+                });
+            }
+        }
+        long total = 0;
+        for (BankAccount acc : accounts) {
+            total += acc.balance();
+        }
+        assertEquals(40_000, total);
+        assertTrue(policy.fastPath() > 0);
+    }
+}
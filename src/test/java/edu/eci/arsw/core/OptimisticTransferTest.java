@@ -0,0 +1,93 @@
+package edu.eci.arsw.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+final class OptimisticTransferTest {
+
+    /*
+     * Prueba que mezclando transferencias optimistas y ordenadas sobre pocas
+     * cuentas (mucha contención) un lector sin locks siempre observa el
+     * total invariante, y que el dinero se conserva al final.
+     */
+    @Test
+    @Timeout(30)
+    void readersAlwaysSeeConsistentTotal() throws Exception {
+        List<BankAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            accounts.add(new BankAccount(i, 1_000));
+        }
+        long expected = 6_000;
+        var stop = new AtomicBoolean();
+        var badReads = new AtomicLong();
+        var reads = new AtomicLong();
+        Thread reader = Thread.ofPlatform().start(() -> {
+            while (!stop.get()) {
+                if (TransferService.consistentTotal(accounts) != expected) {
+                    badReads.incrementAndGet();
+                }
+                reads.incrementAndGet();
+            }
+        });
+        var retries = new AtomicLong();
+        try (var exec = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 4; t++) {
+                boolean optimistic = t % 2 == 0;
+                exec.submit(() -> {
+                    var rnd = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        var from = accounts.get(rnd.nextInt(accounts.size()));
+                        var to = accounts.get(rnd.nextInt(accounts.size()));
+                        try {
+                            if (optimistic) {
+                                retries.addAndGet(TransferService.transferOptimistic(from, to, 1 + rnd.nextInt(20)));
+                            } else {
+                                TransferService.transferOrdered(from, to, 1 + rnd.nextInt(20));
+                            }
+                        } catch (IllegalArgumentException insufficient) {
+                            // esperado cuando una cuenta se queda sin fondos
+                        }
+                    }
+                });
+            }
+        }
+        stop.set(true);
+        reader.join();
+        assertTrue(reads.get() > 0);
+        assertEquals(0, badReads.get(), "lecturas inconsistentes");
+        assertEquals(expected, TransferService.consistentTotal(accounts));
+        assertTrue(retries.get() >= 0);
+        for (BankAccount acc : accounts) {
+            assertTrue(acc.balance() >= 0);
+            assertEquals(0, acc.version() & 1, "versión quedó en escritura");
+        }
+    }
+
+    /*
+     * Prueba que sin fondos suficientes la transferencia optimista falla sin
+     * tocar los saldos ni las versiones.
+     */
+    @Test
+    void insufficientFundsLeavesAccountsUntouched() {
+        var a = new BankAccount(1, 10);
+        var b = new BankAccount(2, 0);
+        assertThrows(IllegalArgumentException.class, () -> TransferService.transferOptimistic(a, b, 11));
+        assertEquals(10, a.balance());
+        assertEquals(0, b.balance());
+        assertEquals(0, a.version());
+        assertEquals(0, TransferService.transferOptimistic(a, b, 10));
+        assertEquals(0, a.balance());
+        assertEquals(10, b.balance());
+        assertEquals(2, a.version());
+    }
+}
@@ -0,0 +1,95 @@
+package edu.eci.arsw.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+final class TransferBatchTest {
+
+    /*
+     * Prueba que el lote da exactamente el mismo resultado que aplicar las
+     * transferencias una por una en orden (incluidas las rechazadas por
+     * fondos insuficientes), conserva el dinero total y toma bastante menos
+     * de dos locks por transferencia.
+     */
+    @Test
+    void batchMatchesSequentialExecution() {
+        int accounts = 2000;
+        var rnd = new Random(7);
+        List<BankAccount> live = new ArrayList<>();
+        long[] reference = new long[accounts];
+        for (int i = 0; i < accounts; i++) {
+            long initial = rnd.nextInt(100);
+            live.add(new BankAccount(i, initial));
+            reference[i] = initial;
+        }
+        List<Transfer> transfers = new ArrayList<>();
+        boolean[] expected = new boolean[5000];
+        for (int i = 0; i < expected.length; i++) {
+            int from = rnd.nextInt(accounts);
+            int to = rnd.nextInt(accounts);
+            long amount = rnd.nextInt(80);
+            transfers.add(new Transfer(live.get(from), live.get(to), amount));
+            if (reference[from] >= amount) {
+                reference[from] -= amount;
+                reference[to] += amount;
+                expected[i] = true;
+            }
+        }
+
+        BatchResult result = TransferService.transferBatch(transfers);
+
+        assertArrayEquals(expected, result.applied());
+        long total = 0;
+        for (int i = 0; i < accounts; i++) {
+            assertEquals(reference[i], live.get(i).balance(), "Saldo de la cuenta " + i);
+            total += live.get(i).balance();
+        }
+        long initialTotal = 0;
+        for (long r : reference) {
+            initialTotal += r;
+        }
+        assertEquals(initialTotal, total);
+        assertTrue(result.failed() > 0, "Debe haber transferencias rechazadas por fondos");
+        assertTrue(result.lockAcquisitions() < 1.4 * expected.length,
+                "Cada cuenta se bloquea una vez por grupo: " + result.lockAcquisitions() + " locks");
+        assertTrue(result.windows() < 20 && result.groups() > 100 * result.windows(),
+                "Pocas ventanas, cada una con muchos grupos independientes");
+    }
+
+    /*
+     * Prueba que un lote disperso (pares de cuentas disjuntos) cabe en una
+     * sola ventana con un grupo por transferencia, y que las transferencias
+     * hacia una cuenta caliente comparten grupo: esa cuenta se bloquea una vez.
+     */
+    @Test
+    void sparseBatchRunsInOneWindow() {
+        List<BankAccount> live = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            live.add(new BankAccount(i, 10));
+        }
+        List<Transfer> sparse = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            sparse.add(new Transfer(live.get(2 * i), live.get(2 * i + 1), 10));
+        }
+        BatchResult result = TransferService.transferBatch(sparse);
+        assertEquals(1, result.windows());
+        assertEquals(2000, result.groups());
+        assertEquals(4000, result.lockAcquisitions());
+        assertEquals(2000, result.succeeded());
+
+        List<Transfer> hot = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            hot.add(new Transfer(live.get(2 * i + 1), live.get(0), 20)); // todas hacia la cuenta 0
+        }
+        BatchResult chained = TransferService.transferBatch(hot);
+        assertEquals(1, chained.groups());
+        assertEquals(51, chained.lockAcquisitions(), "La cuenta 0 se bloquea una sola vez");
+        assertEquals(50 * 20, live.get(0).balance());
+    }
+}
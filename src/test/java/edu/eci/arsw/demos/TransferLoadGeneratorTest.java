@@ -0,0 +1,49 @@
+package edu.eci.arsw.demos;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+final class TransferLoadGeneratorTest {
+
+    /*
+     * Prueba que con Zipf s=1 la cuenta más caliente recibe muchas más
+     * transferencias que una del final, y que la muestra es reproducible
+     * con la misma semilla.
+     */
+    @Test
+    void zipfConcentratesOnHotAccounts() {
+        int[] sample = TransferLoadGenerator.zipfSample(1_000, 1.0, 7, 100_000);
+        int[] counts = new int[1_000];
+        for (int a : sample) {
+            counts[a]++;
+        }
+        assertTrue(counts[0] > 50 * Math.max(1, counts[999]), "hot=" + counts[0] + " cold=" + counts[999]);
+        assertEquals(sample[12_345], TransferLoadGenerator.zipfSample(1_000, 1.0, 7, 100_000)[12_345]);
+    }
+
+    /*
+     * Prueba una corrida corta de cada estrategia, en lazo cerrado y
+     * abierto: todas completan transferencias y conservan el dinero.
+     */
+    @Test
+    @Timeout(60)
+    void everyStrategyCompletesAndConservesMoney() throws Exception {
+        var closed = new TransferLoadGenerator.Options(50, 1_000, "zipf", 1.2, TransferLoadGenerator.STRATEGIES,
+                8, true, 0, Duration.ofMillis(200), Duration.ofMillis(100), 1);
+        var open = new TransferLoadGenerator.Options(50, 1_000, "uniform", 1.0, List.of("ordered", "optimistic"),
+                4, false, 2_000, Duration.ofMillis(200), Duration.ofMillis(100), 1);
+        for (var o : List.of(closed, open)) {
+            for (var r : TransferLoadGenerator.runAll(o)) {
+                assertTrue(r.completed() > 0, r.strategy());
+                assertTrue(r.conserved(), r.strategy());
+                assertTrue(r.p99Nanos() >= r.p50Nanos(), r.strategy());
+                assertEquals(r.attempted(), r.completed() + r.insufficient() + r.timeouts(), r.strategy());
+            }
+        }
+    }
+}
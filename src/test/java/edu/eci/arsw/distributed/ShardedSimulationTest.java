@@ -0,0 +1,99 @@
+package edu.eci.arsw.distributed;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import edu.eci.arsw.app.ShardedRun;
+
+final class ShardedSimulationTest {
+
+    /*
+     * Prueba con tres shards en este mismo JVM (conectados por loopback) que
+     * hay golpes entre shards, que con la pausa global los totales sumados
+     * coinciden con los de cada manager y no cambian, y que al reanudar la
+     * simulación sigue.
+     */
+    @Test
+    @Timeout(60)
+    void globalPauseFreezesAggregatedTotals() throws Exception {
+        List<ShardNode> nodes = new ArrayList<>();
+        try {
+            List<InetSocketAddress> addresses = new ArrayList<>();
+            for (int s = 0; s < 3; s++) {
+                var config = new ShardNode.Config(s, 3, 90, "ordered", 1_000_000, 1, 11, 0.3, "sleep:1");
+                var node = new ShardNode(config, 0);
+                nodes.add(node);
+                addresses.add(node.address());
+            }
+            try (var coordinator = Coordinator.connect(addresses)) {
+                coordinator.start();
+                Thread.sleep(300);
+                assertTrue(coordinator.pause() > 0);
+                assertTrue(coordinator.paused());
+                List<ShardStatus> first = coordinator.status();
+                long health = 0;
+                int alive = 0;
+                for (ShardNode n : nodes) {
+                    health += n.manager().totalHealth();
+                    alive += n.manager().aliveCount();
+                }
+                assertEquals(health, coordinator.totalHealth());
+                assertEquals(alive, coordinator.aliveCount());
+                assertEquals(90, alive);
+                Thread.sleep(100);
+                assertEquals(totals(first), totals(coordinator.status()), "en pausa nada cambia");
+                for (ShardStatus s : first) {
+                    assertTrue(s.paused());
+                    assertTrue(s.remoteStrikes() > 0, "shard " + s.shard());
+                    assertTrue(s.remoteDefends() > 0, "shard " + s.shard());
+                }
+
+                coordinator.resume();
+                Thread.sleep(200);
+                long fights = coordinator.stop().stream().mapToLong(ShardStatus::fights).sum();
+                assertTrue(fights > first.stream().mapToLong(ShardStatus::fights).sum());
+            }
+        } finally {
+            nodes.forEach(ShardNode::close);
+        }
+    }
+
+    /*
+     * Prueba la corrida con un proceso por shard: la simulación converge a
+     * un solo vivo en toda la población y cada muerte quedó registrada una
+     * sola vez en el marcador de algún shard.
+     */
+    @Test
+    @Timeout(120)
+    void separateProcessesConvergeToOneSurvivor() throws Exception {
+        var o = new ShardedRun.Options(2, 24, "ordered", 100, 25, 5, 0.2, "none", Duration.ofSeconds(60),
+                Duration.ofMillis(100));
+        List<ShardStatus> last = ShardedRun.run(o, new PrintStream(OutputStream.nullOutputStream()));
+        assertEquals(2, last.size());
+        int alive = last.stream().mapToInt(ShardStatus::alive).sum();
+        long kills = last.stream().mapToLong(ShardStatus::kills).sum();
+        assertEquals(1, alive);
+        assertEquals(24 - alive, kills);
+        assertTrue(last.stream().allMatch(s -> s.remoteStrikes() > 0));
+    }
+
+    private static List<Long> totals(List<ShardStatus> status) {
+        List<Long> totals = new ArrayList<>();
+        for (ShardStatus s : status) {
+            totals.add(s.totalHealth());
+            totals.add(s.fights());
+            totals.add(s.remoteStrikes());
+            totals.add(s.remoteDefends());
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,87 @@
+package edu.eci.arsw.highlandersim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.swing.SwingUtilities;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.immortals.ImmortalManager;
+
+final class LiveViewFeedTest {
+
+    /*
+     * Prueba que el primer fotograma marca todas las filas, que sin peleas
+     * nuevas el siguiente no marca ninguna, y que al fusionar fotogramas no
+     * consumidos no se pierde ninguna fila cambiada.
+     */
+    @Test
+    void framesCarryOnlyChangedRows() throws Exception {
+        var manager = new ImmortalManager(50, "ordered", 100, 10);
+        try (var feed = new LiveViewFeed(manager, f -> { })) {
+            LiveFrame first = feed.capture("t");
+            assertEquals(50, first.changed().length);
+
+            manager.start();
+            Thread.sleep(100);
+            manager.pause();
+            LiveFrame second = feed.capture("t");
+            LiveFrame third = feed.capture("t");
+            assertEquals(0, third.changed().length, "En pausa nada cambia entre fotogramas");
+            assertArrayEquals(second.changed(), third.coalesce(second).changed());
+
+            var model = new HealthTableModel(new String[50]);
+            model.apply(first.coalesce(null));
+            model.apply(second);
+            for (int id = 0; id < 50; id++) {
+                assertEquals(second.health()[id], model.getValueAt(id, 1));
+            }
+        } finally {
+            manager.stop();
+        }
+    }
+
+    /*
+     * Prueba que el fotograma de la pausa absorbe el que seguia pendiente
+     * para el EDT: ese no se aplica despues con datos viejos y sus filas
+     * cambiadas no se pierden.
+     */
+    @Test
+    void pausedFrameSupersedesPendingFrame() throws Exception {
+        var manager = new ImmortalManager(50, "ordered", 100, 10);
+        List<LiveFrame> delivered = new ArrayList<>();
+        var edtBusy = new CountDownLatch(1);
+        try (var feed = new LiveViewFeed(manager, delivered::add)) {
+            SwingUtilities.invokeLater(() -> {
+                try {
+                    edtBusy.await(); // el EDT no consume el fotograma pendiente todavia
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            feed.tick(); // primer fotograma (todas las filas) queda pendiente
+
+            manager.start();
+            Thread.sleep(100);
+            manager.pause();
+            LiveFrame paused = feed.captureNow("Paused");
+            edtBusy.countDown();
+            SwingUtilities.invokeAndWait(() -> { });
+
+            assertTrue(delivered.isEmpty(), "El fotograma viejo no debe llegar despues del de la pausa");
+            var model = new HealthTableModel(new String[50]);
+            model.apply(paused);
+            for (int id = 0; id < 50; id++) {
+                assertEquals(paused.health()[id], model.getValueAt(id, 1));
+            }
+        } finally {
+            edtBusy.countDown();
+            manager.stop();
+        }
+    }
+}
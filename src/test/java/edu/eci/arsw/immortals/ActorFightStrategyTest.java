@@ -0,0 +1,56 @@
+package edu.eci.arsw.immortals;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+final class ActorFightStrategyTest {
+
+    /*
+     * Prueba que una pelea por mensajes tiene la misma semantica que las
+     * peleas con locks una vez se procesan los buzones.
+     */
+    @Test
+    void messagesApplySameSemanticsAsLockedFights() {
+        var strategy = new ActorFightStrategy();
+        var scoreBoard = new ScoreBoard();
+        var controller = new PauseController();
+        Immortal a = new Immortal("A", 100, 30, List.of(), scoreBoard, controller, strategy);
+        Immortal b = new Immortal("B", 20, 30, List.of(), scoreBoard, controller, strategy);
+
+        strategy.fight(a, b);
+        assertEquals(20, b.getHealth(), "El daño no se aplica hasta que el defensor procesa su buzón");
+
+        strategy.quiesce(List.of(a, b));
+        assertEquals(0, b.getHealth(), "La salud no debe bajar de 0");
+        assertEquals(110, a.getHealth(), "El atacante gana la mitad del daño real");
+        assertEquals(1, scoreBoard.totalFights());
+    }
+
+    /*
+     * Prueba que con la pausa (que vacia los buzones) la salud total es
+     * estable y nunca negativa en el modo actor.
+     */
+    @Test
+    void pauseGivesStableTotalsInActorMode() throws Exception {
+        var manager = new ImmortalManager(50, "actor", 100, 10);
+        manager.start();
+        Thread.sleep(200);
+
+        manager.pause();
+        long total1 = manager.totalHealth();
+        Thread.sleep(100);
+        long total2 = manager.totalHealth();
+        boolean noneNegative = manager.populationSnapshot().stream().allMatch(im -> im.getHealth() >= 0);
+        manager.resume();
+        manager.stop();
+
+        assertEquals(total1, total2, "La salud no debe cambiar mientras los hilos están pausados");
+        assertTrue(noneNegative, "Ningún inmortal debe tener salud negativa");
+        assertTrue(manager.scoreBoard().totalFights() > 0, "Debe haber peleas registradas");
+    }
+}
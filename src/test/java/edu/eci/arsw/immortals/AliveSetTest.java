@@ -0,0 +1,90 @@
+package edu.eci.arsw.immortals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+final class AliveSetTest {
+
+    /*
+     * Prueba que quitar intercambia con el ultimo y que el muestreo solo
+     * devuelve inmortales que siguen en el conjunto.
+     */
+    @Test
+    void removeSwapsWithLastAndSamplingSkipsRemoved() {
+        var controller = new PauseController();
+        var scoreBoard = new ScoreBoard();
+        List<Immortal> ims = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ims.add(new Immortal("I-" + i, 100, 10, List.of(), scoreBoard, controller));
+        }
+        var set = AliveSet.copyOf(ims);
+        assertTrue(set.remove(ims.get(0)));
+        assertFalse(set.remove(ims.get(0)), "Quitar dos veces no cambia el conjunto");
+        assertEquals(2, set.size());
+
+        var rnd = new SplitMix64(42);
+        for (int i = 0; i < 100; i++) {
+            Immortal other = set.sample(ims.get(1), rnd);
+            if (other != null) { // null si todos los intentos cayeron en uno mismo
+                assertSame(ims.get(2), other, "El único oponente posible es I-2");
+            }
+        }
+        set.remove(ims.get(2));
+        assertNull(set.sample(ims.get(1), rnd), "Sin oponentes vivos no hay muestra");
+    }
+
+    /*
+     * Prueba que los muertos salen del conjunto de vivos, que sus hilos se
+     * retiran del PauseController (la pausa no se queda esperando por ellos)
+     * y que aliveCount coincide con la salud real.
+     */
+    @Test
+    void deadImmortalsAreEvictedAndRetired() throws Exception {
+        var manager = new ImmortalManager(40, "ordered", 20, 10);
+        manager.start();
+        Thread.sleep(500);
+
+        manager.pause(); // no debe bloquearse aunque haya hilos retirados
+        int alive = 0;
+        for (Immortal im : manager.populationSnapshot()) {
+            alive += im.getHealth() > 0 ? 1 : 0;
+        }
+        int reported = manager.aliveCount();
+        manager.resume();
+        manager.stop();
+
+        assertTrue(alive < 40, "Con salud baja deben morir inmortales");
+        assertEquals(alive, reported, "aliveCount debe coincidir con la salud real");
+    }
+
+    /*
+     * Prueba que con la misma semilla la secuencia de oponentes elegidos se
+     * repite, y que restaurar el estado del generador la continua igual.
+     */
+    @Test
+    void seededSamplingIsReproducible() {
+        var controller = new PauseController();
+        var scoreBoard = new ScoreBoard();
+        List<Immortal> ims = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ims.add(new Immortal("I-" + i, 100, 10, List.of(), scoreBoard, controller));
+        }
+        var set = AliveSet.copyOf(ims);
+        var a = new SplitMix64(SplitMix64.seedFor(42, 3));
+        var b = new SplitMix64(SplitMix64.seedFor(42, 3));
+        for (int i = 0; i < 50; i++) {
+            assertSame(set.sample(ims.get(0), a), set.sample(ims.get(0), b));
+        }
+        var resumed = new SplitMix64(a.state());
+        assertEquals(a.nextLong(), resumed.nextLong());
+    }
+}
@@ -0,0 +1,70 @@
+package edu.eci.arsw.immortals;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+final class ArenasTest {
+
+    /*
+     * Prueba que los ids se reparten en arenas contiguas que cubren toda la
+     * población, que sin desafíos nadie elige fuera de su arena y que con
+     * una tasa de desafíos la fracción de oponentes externos es cercana a
+     * la configurada.
+     */
+    @Test
+    void picksStayInsideArenaExceptChallenges() {
+        for (double rate : new double[]{0, 0.2}) {
+            var m = new ImmortalManager(103, FightStrategy.of("ordered"), 100, 10, 5, 4, rate);
+            assertEquals(4, m.arenaCount());
+            assertEquals(103, m.aliveCount());
+            Arenas a = m.arenas();
+            int previous = 0;
+            for (int id = 0; id < 103; id++) {
+                int arena = a.arenaOf(id);
+                assertTrue(arena == previous || arena == previous + 1, "arenas contiguas");
+                previous = arena;
+            }
+            assertEquals(3, previous);
+
+            Immortal self = m.populationSnapshot().get(50);
+            int mine = a.arenaOf(50);
+            var rnd = new SplitMix64(9);
+            int outside = 0;
+            for (int i = 0; i < 10_000; i++) {
+                Immortal o = a.pick(self, mine, rnd);
+                assertNotNull(o);
+                if (a.arenaOf(o.id()) != mine) {
+                    outside++;
+                }
+            }
+            assertEquals(outside, m.crossArenaChallenges());
+            if (rate == 0) {
+                assertEquals(0, outside);
+            } else {
+                assertTrue(outside > 1_700 && outside < 2_300, "desafíos=" + outside);
+            }
+        }
+    }
+
+    /*
+     * Prueba que con arenas la simulación sigue convergiendo: cuando una
+     * arena se queda sin rivales, sus sobrevivientes buscan en las demás.
+     */
+    @Test
+    @Timeout(30)
+    void isolatedArenasStillConverge() throws Exception {
+        try (var m = new ImmortalManager(40, FightStrategy.of("ordered"), 100, 50, 3, 8, 0)) {
+            m.pace(Pacer.unthrottled());
+            m.start();
+            long deadline = System.nanoTime() + 20_000_000_000L;
+            while (m.aliveCount() > 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, m.aliveCount());
+            assertTrue(m.crossArenaChallenges() > 0);
+        }
+    }
+}
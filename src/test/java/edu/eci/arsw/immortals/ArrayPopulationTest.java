@@ -0,0 +1,54 @@
+package edu.eci.arsw.immortals;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+final class ArrayPopulationTest {
+
+    /*
+     * Prueba que la pelea sobre el arreglo tiene la misma semantica que
+     * fightOrdered, incluso cuando ambos ids caen en el mismo stripe.
+     */
+    @Test
+    void fightMatchesOrderedSemantics() {
+        var pop = new ArrayPopulation(4, 100, 30, 1, 2);
+        pop.fight(0, 2); // mismo stripe
+        assertEquals(115, pop.health(0));
+        assertEquals(70, pop.health(2));
+
+        pop.fight(1, 2);
+        pop.fight(1, 2);
+        pop.fight(1, 2);
+        assertEquals(0, pop.health(2), "La salud no debe bajar de 0");
+        assertEquals(100 + 15 + 15 + 5, pop.health(1), "El atacante gana la mitad del daño real");
+        assertEquals(3, pop.aliveCount());
+        assertEquals(4, pop.scoreBoard().totalFights());
+    }
+
+    /*
+     * Prueba que una poblacion grande corre con pocos workers y que la pausa
+     * deja la salud total estable.
+     */
+    @Test
+    void largePopulationPausesConsistently() throws Exception {
+        var pop = new ArrayPopulation(200_000, 100, 10, 4, 256);
+        pop.start();
+        Thread.sleep(100);
+        pop.pause();
+        long total1 = pop.totalHealth();
+        Thread.sleep(50);
+        long total2 = pop.totalHealth();
+        pop.resume();
+        pop.stop();
+
+        assertEquals(total1, total2, "La salud no debe cambiar mientras los workers están pausados");
+        assertTrue(pop.scoreBoard().totalFights() > 0, "Debe haber peleas registradas");
+        int alive = 0;
+        for (int h : pop.healthSnapshot()) {
+            assertTrue(h >= 0, "Ninguna salud negativa");
+            alive += h > 0 ? 1 : 0;
+        }
+        assertEquals(alive, pop.aliveCount(), "aliveCount debe coincidir con el arreglo");
+    }
+}
@@ -0,0 +1,87 @@
+package edu.eci.arsw.immortals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+final class CheckpointTest {
+
+    /*
+     * Prueba que un checkpoint tomado en pausa, escrito y leido de disco,
+     * recrea cada motor con la misma salud, contadores y generadores.
+     */
+    @Test
+    void roundTripRestoresFullState() throws Exception {
+        Path dir = Files.createTempDirectory("checkpoint");
+        for (String engine : new String[] {"objects", "arrays"}) {
+            int n = engine.equals("objects") ? 20 : 100_000;
+            try (Simulation sim = Simulation.of(engine, n, "ordered", 300, 10, 99)) {
+                sim.start();
+                Thread.sleep(200);
+                Checkpoint cp = sim.checkpoint();
+                Path file = dir.resolve(engine + ".ckpt");
+                cp.write(file);
+
+                Checkpoint loaded = Checkpoint.read(file);
+                assertArrayEquals(cp.health(), loaded.health(), engine);
+                assertArrayEquals(cp.perImmortal(), loaded.perImmortal(), engine);
+                assertArrayEquals(cp.rng(), loaded.rng(), engine);
+
+                Simulation restored = Simulation.restore(loaded);
+                assertArrayEquals(cp.health(), restored.healthSnapshot(), engine);
+                assertEquals(cp.totalFights(), restored.scoreBoard().totalFights(), engine);
+                assertEquals(cp.perImmortal()[9], restored.scoreBoard().fights(3), engine);
+                long total = 0;
+                for (int h : cp.health()) {
+                    total += h;
+                }
+                assertEquals(total, restored.totalHealth(), engine);
+                Checkpoint again = restored.checkpoint(); // sin arrancar no hay hilos que esperar
+                assertArrayEquals(cp.rng(), again.rng(), engine);
+            }
+        }
+    }
+
+    /*
+     * Prueba que un checkpoint de un manager con varias arenas se restaura con
+     * las mismas arenas y la misma tasa de desafíos cruzados.
+     */
+    @Test
+    void restoreKeepsArenas() throws Exception {
+        var manager = new ImmortalManager(40, FightStrategy.of("ordered"), 300, 10, 5, 4, 0.1);
+        manager.start();
+        Thread.sleep(100);
+        Checkpoint cp = manager.checkpoint();
+        manager.stop();
+        Path file = Files.createTempDirectory("checkpoint").resolve("arenas.ckpt");
+        cp.write(file);
+
+        var restored = ImmortalManager.restore(Checkpoint.read(file));
+        assertEquals(4, restored.arenaCount());
+        assertEquals(0.1, restored.arenas().crossArenaRate());
+        assertArrayEquals(cp.health(), restored.healthSnapshot());
+        assertEquals(restored.aliveCount(), (int) Arrays.stream(cp.health()).filter(h -> h > 0).count());
+    }
+
+    /*
+     * Prueba que el checkpoint sin pausa toma la salud de un snapshot
+     * consistente y que un checkpoint de otro motor se rechaza.
+     */
+    @Test
+    void snapshotCheckpointAndEngineMismatch() throws Exception {
+        var manager = new ImmortalManager(30, "ordered", 200, 10);
+        manager.start();
+        Thread.sleep(100);
+        Checkpoint cp = manager.checkpointFromSnapshot();
+        manager.stop();
+        assertEquals(30, cp.size());
+        var restored = ImmortalManager.restore(cp);
+        assertArrayEquals(cp.health(), restored.healthSnapshot());
+        assertThrows(IllegalArgumentException.class, () -> ArrayPopulation.restore(cp));
+    }
+}
@@ -0,0 +1,44 @@
+package edu.eci.arsw.immortals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+final class FightJournalTest {
+
+    /*
+     * Prueba que reproducir el diario de una corrida sobre un manager nuevo
+     * deja exactamente la misma salud por inmortal y el mismo numero de
+     * peleas, tanto con locks como en modo actor. Segmentos y buffers chicos
+     * para forzar cambios de segmento y muchas corridas que mezclar.
+     */
+    @Test
+    void replayReproducesFinalHealth() throws Exception {
+        for (String mode : new String[] {"ordered", "actor"}) {
+            Path dir = Files.createTempDirectory("journal-" + mode);
+            var manager = new ImmortalManager(16, mode, 500, 10);
+            var journal = new FightJournal(dir, 1000, 16);
+            manager.journalTo(journal);
+            manager.start();
+            Thread.sleep(300);
+            manager.stop();
+            journal.close();
+
+            var reader = FightJournalReader.open(dir);
+            assertTrue(reader.size() > 0, "El diario debe tener eventos");
+            for (int i = 1; i < reader.size(); i++) {
+                assertTrue(reader.get(i - 1).nanos() <= reader.get(i).nanos(), "Eventos en orden de tiempo");
+            }
+
+            var replayed = new ImmortalManager(16, mode, 500, 10);
+            reader.replay(replayed);
+            assertArrayEquals(manager.healthSnapshot(), replayed.healthSnapshot(), mode);
+            assertEquals(manager.scoreBoard().totalFights(), replayed.scoreBoard().totalFights(), mode);
+            assertEquals(manager.stats().aliveCount(), replayed.stats().aliveCount(), mode);
+        }
+    }
+}
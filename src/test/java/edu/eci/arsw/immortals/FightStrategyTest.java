@@ -0,0 +1,47 @@
+package edu.eci.arsw.immortals;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+final class FightStrategyTest {
+
+    /*
+     * Prueba que el nombre del modo se resuelve a la estrategia correcta.
+     */
+    @Test
+    void resolvesStrategiesByName() {
+        assertEquals("ordered", FightStrategy.of("ordered").name());
+        assertEquals("naive", FightStrategy.of("NAIVE").name());
+        assertEquals("trylock", FightStrategy.of("trylock").name());
+        assertEquals("ordered", FightStrategy.of(null).name());
+        assertThrows(IllegalArgumentException.class, () -> FightStrategy.of("random"));
+    }
+
+    /*
+     * Prueba que todas las estrategias aplican la misma aritmetica: el
+     * defensor nunca baja de 0 y el atacante gana la mitad del daño causado.
+     */
+    @Test
+    void allStrategiesShareFightSemantics() throws Exception {
+        for (String mode : List.of("ordered", "naive", "naive-detect", "trylock", "ordered-monitor", "naive-monitor")) {
+            var scoreBoard = new ScoreBoard();
+            var controller = new PauseController();
+            FightStrategy strategy = FightStrategy.of(mode);
+            Immortal a = new Immortal("A", 100, 30, List.of(), scoreBoard, controller, strategy);
+            Immortal b = new Immortal("B", 20, 30, List.of(), scoreBoard, controller, strategy);
+
+            strategy.fight(a, b);
+            assertEquals(0, b.getHealth(), mode + ": la salud no debe bajar de 0");
+            assertEquals(110, a.getHealth(), mode + ": el atacante gana la mitad del daño real");
+
+            strategy.fight(a, b);
+            assertEquals(110, a.getHealth(), mode + ": no se pelea contra un inmortal muerto");
+            assertEquals(1, scoreBoard.totalFights(), mode + ": solo una pelea registrada");
+        }
+    }
+}
@@ -25,6 +25,13 @@ final class ManagerSmokeTest {
         m.resume();
         m.stop();
         assertTrue(sum > 0);
+
+        int healthy = 0;
+        for (int h : m.healthSnapshot()) {
+            healthy += h > 0 ? 1 : 0;
+        }
+        assertTrue(healthy > 0);
+        assertEquals(healthy, m.aliveCount(), "stop() no debe sacar a los vivos del conjunto de vivos");
     }
 
     /*
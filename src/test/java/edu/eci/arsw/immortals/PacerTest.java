@@ -0,0 +1,93 @@
+package edu.eci.arsw.immortals;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+final class PacerTest {
+
+    /*
+     * Prueba que las descripciones se resuelven al modo correcto y que las
+     * inválidas se rechazan.
+     */
+    @Test
+    void resolvesPacersBySpec() {
+        assertEquals("sleep:2", Pacer.of(null).name());
+        assertEquals("none", Pacer.of("none").name());
+        assertEquals("sleep:5", Pacer.of("sleep:5").name());
+        assertEquals("rate:5000", Pacer.of("rate:5000").name());
+        assertEquals("rounds:20", Pacer.of("ROUNDS:20").name());
+        assertThrows(IllegalArgumentException.class, () -> Pacer.of("rate"));
+        assertThrows(IllegalArgumentException.class, () -> Pacer.of("rate:abc"));
+        assertThrows(IllegalArgumentException.class, () -> Pacer.of("warp"));
+    }
+
+    /*
+     * Prueba que el token bucket fija el throughput global: con muchos
+     * inmortales sin sleep, las peleas/s quedan cerca del objetivo y no
+     * dependen del número de hilos.
+     */
+    @Test
+    @Timeout(30)
+    void tokenBucketCapsGlobalThroughput() throws Exception {
+        try (var m = new ImmortalManager(200, FightStrategy.of("ordered"), 1_000_000, 1, 1)) {
+            m.pace(Pacer.rate(2_000));
+            m.start();
+            Thread.sleep(200);
+            long f0 = m.scoreBoard().totalFights();
+            long t0 = System.nanoTime();
+            Thread.sleep(1_000);
+            double rate = (m.scoreBoard().totalFights() - f0) * 1e9 / (System.nanoTime() - t0);
+            assertTrue(rate > 1_500 && rate < 2_500, "peleas/s=" + rate);
+        }
+    }
+
+    /*
+     * Prueba que con un ritmo muy lento (una pelea por segundo) la pausa no
+     * espera el turno de cada hilo: llegan al safepoint en un horizonte.
+     */
+    @Test
+    @Timeout(30)
+    void slowRatePausesWithinHorizon() throws Exception {
+        try (var m = new ImmortalManager(20, FightStrategy.of("ordered"), 1_000, 1, 1)) {
+            m.pace(Pacer.rate(1));
+            m.start();
+            Thread.sleep(300);
+            long tts = m.controller().pause();
+            assertTrue(tts < Duration.ofMillis(200).toNanos(), "time-to-safepoint=" + tts / 1_000_000 + " ms");
+            m.resume();
+        }
+    }
+
+    /*
+     * Prueba que en modo rondas cada inmortal pelea a lo sumo una vez por
+     * tick, con ambos motores, y que una pausa no queda esperando el tick.
+     */
+    @Test
+    @Timeout(30)
+    void roundsAllowOneFightPerImmortalPerTick() throws Exception {
+        for (Simulation sim : new Simulation[]{
+            new ImmortalManager(50, FightStrategy.of("ordered"), 1_000_000, 1, 1),
+            new ArrayPopulation(50, 1_000_000, 1, 2, 16, 1)}) {
+            try (sim) {
+                var pacer = (RoundPacer) Pacer.rounds(Duration.ofMillis(20));
+                sim.pace(pacer);
+                sim.start();
+                Thread.sleep(100);
+                long r0 = pacer.round();
+                long f0 = sim.scoreBoard().totalFights();
+                Thread.sleep(500);
+                long fights = sim.scoreBoard().totalFights() - f0;
+                long rounds = pacer.round() - r0;
+                assertTrue(fights > 0, "debe haber peleas");
+                assertTrue(fights <= 50 * (rounds + 1), fights + " peleas en " + rounds + " rondas");
+                sim.pause();
+                sim.resume();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package edu.eci.arsw.immortals;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+final class PopulationStatsTest {
+
+    /*
+     * Prueba que los agregados incrementales coinciden con un recorrido
+     * completo una vez la simulacion esta en pausa, y que la reconciliacion
+     * deja minimo y maximo exactos.
+     */
+    @Test
+    void incrementalAggregatesMatchFullScan() throws Exception {
+        var manager = new ImmortalManager(30, "ordered", 60, 10);
+        manager.start();
+        Thread.sleep(300);
+        manager.pause();
+
+        int[] health = manager.healthSnapshot();
+        long total = 0;
+        int alive = 0;
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int h : health) {
+            total += h;
+            if (h > 0) {
+                alive++;
+                min = Math.min(min, h);
+                max = Math.max(max, h);
+            }
+        }
+        PopulationStats stats = manager.stats();
+        assertEquals(total, stats.totalHealth(), "La salud total incremental debe ser exacta en pausa");
+        assertEquals(alive, stats.aliveCount(), "Los vivos incrementales deben ser exactos en pausa");
+
+        manager.reconcileStats();
+        assertEquals(total, stats.totalHealth());
+        assertEquals(alive > 0 ? min : 0, stats.minHealth(), "Tras reconciliar el mínimo es exacto");
+        assertEquals(max, stats.maxHealth(), "Tras reconciliar el máximo es exacto");
+        manager.resume();
+        manager.stop();
+    }
+}
@@ -0,0 +1,59 @@
+package edu.eci.arsw.immortals;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+final class RoundPopulationTest {
+
+    /*
+     * Prueba que una ronda tiene la semantica de fightOrdered y que cada
+     * inmortal pelea a lo sumo una vez por ronda.
+     */
+    @Test
+    void eachImmortalFightsAtMostOncePerRound() {
+        try (var pair = new RoundPopulation(2, 100, 10, 1, 7)) {
+            pair.runRounds(1);
+            int[] h = pair.healthSnapshot();
+            assertEquals(195, h[0] + h[1], "El atacante gana la mitad del daño");
+            assertEquals(105, Math.max(h[0], h[1]));
+            assertEquals(1, pair.scoreBoard().totalFights());
+        }
+
+        try (var pop = new RoundPopulation(10_001, 100, 10, 2, 7)) {
+            for (int r = 1; r <= 5; r++) {
+                pop.runRounds(1);
+                assertEquals(5_000L * r, pop.scoreBoard().totalFights(), "Una pelea por pareja, uno descansa");
+                for (int id = 0; id < pop.size(); id++) {
+                    assertTrue(pop.scoreBoard().fights(id) <= r, "A lo sumo una pelea por ronda");
+                }
+            }
+        }
+    }
+
+    /*
+     * Prueba que la misma semilla da el mismo resultado con distinto numero
+     * de hilos, y que un checkpoint continua con los mismos emparejamientos.
+     */
+    @Test
+    void sameSeedIsReproducibleAcrossParallelismAndCheckpoints() {
+        int n = 20_000;
+        try (var one = new RoundPopulation(n, 100, 10, 1, 42);
+                var four = new RoundPopulation(n, 100, 10, 4, 42)) {
+            one.runRounds(30);
+            four.runRounds(15);
+            try (var restored = RoundPopulation.restore(four.checkpoint())) {
+                assertEquals(30, restored.runRounds(15));
+
+                assertArrayEquals(one.healthSnapshot(), restored.healthSnapshot());
+                assertEquals(one.totalHealth(), restored.totalHealth());
+                assertEquals(one.aliveCount(), restored.aliveCount());
+                assertEquals(one.scoreBoard().totalKills(), restored.scoreBoard().totalKills());
+                assertArrayEquals(one.scoreBoard().perImmortalCounters(),
+                        restored.scoreBoard().perImmortalCounters());
+                assertTrue(one.aliveCount() < n, "Debe haber muertes tras 30 rondas");
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package edu.eci.arsw.immortals;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+final class ScoreBoardTest {
+
+    /*
+     * Prueba que las estadisticas por inmortal suman los totales aunque
+     * varios hilos registren a la vez, y que hottest ordena por peleas.
+     */
+    @Test
+    void perImmortalStatsAddUpUnderConcurrency() throws Exception {
+        var score = new ScoreBoard(4);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int id = t;
+            threads[t] = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 1000 * (id + 1); i++) {
+                    score.recordFight(id, 10, i % 100 == 0);
+                }
+            });
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        score.recordFight(); // sin id: solo cuenta en los totales
+
+        assertEquals(10_001, score.totalFights());
+        assertEquals(100_000, score.totalDamage());
+        long fights = 0;
+        long kills = 0;
+        for (int id = 0; id < 4; id++) {
+            assertEquals(1000L * (id + 1), score.fights(id));
+            assertEquals(10_000L * (id + 1), score.damageDealt(id));
+            fights += score.fights(id);
+            kills += score.kills(id);
+        }
+        assertEquals(score.totalFights() - 1, fights);
+        assertEquals(score.totalKills(), kills);
+        assertArrayEquals(new int[] { 3, 2 }, score.hottest(2));
+        assertTrue(score.fightsPerSecond(10) > 0, "La tasa movil debe reflejar las peleas recientes");
+    }
+
+    /*
+     * Prueba que restaurar un checkpoint no cuenta las peleas restauradas
+     * como peleas recientes en las tasas moviles.
+     */
+    @Test
+    void restoreRestartsRates() throws Exception {
+        var score = new ScoreBoard(2);
+        Thread.sleep(20);
+        score.restore(1_000_000, 10, 5_000_000, new long[] {600_000, 5, 3_000_000, 400_000, 5, 2_000_000});
+        assertEquals(1_000_000, score.totalFights());
+        assertEquals(400_000, score.fights(1));
+        assertEquals(0.0, score.fightsPerSecond(10), "Sin peleas nuevas la tasa es 0");
+        for (int i = 0; i < 100; i++) {
+            score.recordFight(0, 10, false);
+        }
+        assertTrue(score.fightsPerSecond(10) > 0, "Las peleas nuevas si cuentan");
+    }
+
+    /*
+     * Prueba que una simulacion real llena los histogramas y que las
+     * estadisticas por id coinciden con el total de peleas.
+     */
+    @Test
+    void managerFillsHistogramsAndPerImmortalStats() throws Exception {
+        var manager = new ImmortalManager(8, "ordered", 1000, 10);
+        manager.start();
+        Thread.sleep(200);
+        manager.pause();
+        ScoreBoard score = manager.scoreBoard();
+        long perId = 0;
+        for (int id = 0; id < manager.size(); id++) {
+            perId += score.fights(id);
+        }
+        assertEquals(score.totalFights(), perId);
+        assertTrue(score.lockWait().count() >= score.totalFights(), "Cada pelea registra su espera de locks");
+        assertTrue(score.fightDuration().percentile(0.99) > 0);
+        manager.stop();
+    }
+}
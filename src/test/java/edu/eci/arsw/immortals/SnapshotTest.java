@@ -0,0 +1,66 @@
+package edu.eci.arsw.immortals;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+final class SnapshotTest {
+
+    /*
+     * Prueba que un snapshot tomado mientras se pelea nunca ve una pelea a
+     * medias: con dos inmortales que se atacan por turnos, cada estado
+     * observado debe ser exactamente el estado después de k peleas.
+     */
+    @Test
+    void snapshotNeverSeesHalfAFight() throws Exception {
+        int health = 1_000_000;
+        int fights = 200_000;
+        var manager = new ImmortalManager(2, "ordered", health, 2);
+        List<Immortal> pop = manager.populationSnapshot();
+        Immortal a = pop.get(0);
+        Immortal b = pop.get(1);
+
+        // Estados validos: (salud A, salud B) despues de k peleas alternadas
+        Set<Long> valid = new HashSet<>();
+        long ha = health;
+        long hb = health;
+        valid.add((ha << 32) | hb);
+        for (int k = 0; k < fights; k++) {
+            if (k % 2 == 0) {
+                hb -= 2;
+                ha += 1;
+            } else {
+                ha -= 2;
+                hb += 1;
+            }
+            valid.add((ha << 32) | hb);
+        }
+
+        Thread writer = Thread.ofPlatform().start(() -> {
+            for (int k = 0; k < fights; k++) {
+                if (k % 2 == 0) {
+                    a.fightOrdered(b);
+                } else {
+                    b.fightOrdered(a);
+                }
+            }
+        });
+        int observed = 0;
+        while (writer.isAlive()) {
+            HealthSnapshot snap = manager.snapshot();
+            long state = ((long) snap.health()[0] << 32) | snap.health()[1];
+            assertTrue(valid.contains(state), "Estado inconsistente: " + snap.health()[0] + "/" + snap.health()[1]);
+            assertEquals(snap.health()[0] + snap.health()[1], snap.totalHealth());
+            observed++;
+        }
+        writer.join();
+        assertTrue(observed > 0);
+
+        HealthSnapshot last = manager.snapshot();
+        assertEquals(2L * health - fights, last.totalHealth(), "Cada pelea resta exactamente 1 con daño 2");
+    }
+}
@@ -0,0 +1,64 @@
+package edu.eci.arsw.metrics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import edu.eci.arsw.core.BankAccount;
+import edu.eci.arsw.core.TransferService;
+import edu.eci.arsw.immortals.ImmortalManager;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+final class FlightEventsTest {
+
+    /*
+     * Prueba que sin grabación los eventos están deshabilitados, y que con
+     * FlightEvents.start una corrida corta (peleas, una pausa y una
+     * transferencia) emite los cinco tipos de evento con sus campos.
+     */
+    @Test
+    @Timeout(60)
+    void recordingCapturesProjectEvents() throws Exception {
+        assertFalse(new FightEvent().isEnabled(), "Deben venir deshabilitados");
+
+        Path file = Files.createTempFile("immortals", ".jfr");
+        try {
+            var recording = FlightEvents.start(file);
+            try (var m = new ImmortalManager(8, "ordered", 1_000, 10)) {
+                m.start();
+                Thread.sleep(100);
+                m.pause();
+                m.resume();
+            }
+            TransferService.transferOrdered(new BankAccount(1, 10), new BankAccount(2, 0), 5);
+            recording.stop();
+            recording.close();
+
+            Set<String> names = new HashSet<>();
+            for (RecordedEvent e : RecordingFile.readAllEvents(file)) {
+                String name = e.getEventType().getName();
+                names.add(name);
+                if (name.equals("edu.eci.arsw.Fight")) {
+                    assertNotEquals(e.getInt("attacker"), e.getInt("defender"));
+                }
+                if (name.equals("edu.eci.arsw.Transfer")) {
+                    assertTrue(e.getBoolean("succeeded") && e.getLong("amount") == 5);
+                }
+            }
+            for (String expected : Set.of("edu.eci.arsw.Fight", "edu.eci.arsw.LockWait", "edu.eci.arsw.Safepoint",
+                    "edu.eci.arsw.Resume", "edu.eci.arsw.Transfer")) {
+                assertTrue(names.contains(expected), expected + " en " + names);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}